@@ -359,7 +359,11 @@ public class BaseUtils {
     // else an exception will be thrown
     // Also the time zone / offset if specified will only be used if the full date time is specified upto seconds
     DateTimeFormatter df = DateTimeFormatter.ofPattern(inPattern).withResolverStyle(ResolverStyle.STRICT);
+    return getInstantFromString(sDate, df);
+  }
 
+  public static Instant getInstantFromString(String sDate, DateTimeFormatter df) {
+    // same as above but for a formatter that has already been created from the pattern
     TemporalAccessor ta = null;
     try {
       ta = df.parseBest(sDate, ZonedDateTime::from, LocalDateTime::from, LocalDate::from, YearMonth::from, Year::from);
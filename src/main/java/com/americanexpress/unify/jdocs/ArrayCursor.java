@@ -0,0 +1,223 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import com.americanexpress.unify.base.UnifyException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.math.BigDecimal;
+
+/**
+ * A cursor over the elements of an array of a document. The cursor holds the array and moves over its elements
+ * one at a time. Values are read and written using paths relative to the current element, for example name or
+ * phones[0].type for an element of $.applicants[], so that the path from the root of the document to the array
+ * is not traversed again for every value. For a typed document, the relative paths are checked and the values
+ * validated against the model of the elements of the array in the same way as for the full paths.
+ *
+ * A cursor is obtained using {@link Document#getArrayCursor(String, String...)}. It stays valid as long as the
+ * array is not deleted or replaced in the document, and it is not thread safe.
+ */
+public final class ArrayCursor {
+
+  private final JDocument doc;
+
+  // the array, null if the array does not exist in the document
+  private final ArrayNode array;
+
+  // the model of the elements of the array, null for a base document
+  private final ModelNode model;
+
+  // the static path of the array without the trailing [] e.g. $.applicants
+  private final String path;
+
+  // the model path of an element of the array e.g. $.applicants[0]
+  private final String modelPath;
+
+  private final boolean isReadOnly;
+
+  private int index = -1;
+
+  // the path of the current element, created when first required
+  private String elementPath = null;
+
+  ArrayCursor(JDocument doc, ArrayNode array, ModelNode model, String path, String modelPath, boolean isReadOnly) {
+    this.doc = doc;
+    this.array = array;
+    this.model = model;
+    this.path = path;
+    this.modelPath = modelPath;
+    this.isReadOnly = isReadOnly;
+  }
+
+  // a cursor over the same array that cannot be used to write values
+  ArrayCursor getReadOnlyCursor() {
+    return new ArrayCursor(doc, array, model, path, modelPath, true);
+  }
+
+  /**
+   * Gets the number of elements in the array
+   *
+   * @return the size of the array. If the array is not present in the document, a value of 0 is returned
+   */
+  public int size() {
+    return (array == null) ? 0 : array.size();
+  }
+
+  /**
+   * Moves the cursor to the next element of the array. The cursor starts before the first element
+   *
+   * @return true if the cursor is on an element else false if there are no more elements
+   */
+  public boolean next() {
+    if (index < size()) {
+      index++;
+      elementPath = null;
+    }
+    return (index < size());
+  }
+
+  /**
+   * Moves the cursor back to before the first element of the array
+   */
+  public void reset() {
+    index = -1;
+    elementPath = null;
+  }
+
+  /**
+   * Gets the index of the element the cursor is on
+   *
+   * @return the index of the current element
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Same as {@link Document#getValue(String, String...)} but with a path relative to the current element
+   */
+  public Object getValue(String path, String... vargs) {
+    return doc.getElementValue(this, path, null, vargs);
+  }
+
+  /**
+   * Same as {@link Document#getString(String, String...)} but with a path relative to the current element
+   */
+  public String getString(String path, String... vargs) {
+    return (String)doc.getElementValue(this, path, String.class, vargs);
+  }
+
+  /**
+   * Same as {@link Document#getInteger(String, String...)} but with a path relative to the current element
+   */
+  public Integer getInteger(String path, String... vargs) {
+    return (Integer)doc.getElementValue(this, path, Integer.class, vargs);
+  }
+
+  /**
+   * Same as {@link Document#getLong(String, String...)} but with a path relative to the current element
+   */
+  public Long getLong(String path, String... vargs) {
+    return (Long)doc.getElementValue(this, path, Long.class, vargs);
+  }
+
+  /**
+   * Same as {@link Document#getBoolean(String, String...)} but with a path relative to the current element
+   */
+  public Boolean getBoolean(String path, String... vargs) {
+    return (Boolean)doc.getElementValue(this, path, Boolean.class, vargs);
+  }
+
+  /**
+   * Same as {@link Document#getBigDecimal(String, String...)} but with a path relative to the current element
+   */
+  public BigDecimal getBigDecimal(String path, String... vargs) {
+    return (BigDecimal)doc.getElementValue(this, path, BigDecimal.class, vargs);
+  }
+
+  /**
+   * Same as {@link Document#pathExists(String, String...)} but with a path relative to the current element
+   */
+  public boolean pathExists(String path, String... vargs) {
+    return doc.elementPathExists(this, path, vargs);
+  }
+
+  /**
+   * Same as {@link Document#setString(String, String, String...)} but with a path relative to the current element
+   */
+  public void setString(String path, String value, String... vargs) {
+    setValue(path, value, vargs);
+  }
+
+  /**
+   * Same as {@link Document#setInteger(String, int, String...)} but with a path relative to the current element
+   */
+  public void setInteger(String path, int value, String... vargs) {
+    setValue(path, value, vargs);
+  }
+
+  /**
+   * Same as {@link Document#setLong(String, long, String...)} but with a path relative to the current element
+   */
+  public void setLong(String path, long value, String... vargs) {
+    setValue(path, value, vargs);
+  }
+
+  /**
+   * Same as {@link Document#setBoolean(String, boolean, String...)} but with a path relative to the current element
+   */
+  public void setBoolean(String path, boolean value, String... vargs) {
+    setValue(path, value, vargs);
+  }
+
+  /**
+   * Same as {@link Document#setBigDecimal(String, BigDecimal, String...)} but with a path relative to the current element
+   */
+  public void setBigDecimal(String path, BigDecimal value, String... vargs) {
+    setValue(path, value, vargs);
+  }
+
+  private void setValue(String path, Object value, String... vargs) {
+    if (isReadOnly == true) {
+      throw new UnifyException("jdoc_err_19");
+    }
+    doc.setElementValue(this, path, value, vargs);
+  }
+
+  JsonNode getElement() {
+    if ((index < 0) || (index >= size())) {
+      throw new UnifyException("jdoc_err_8", path);
+    }
+    return array.get(index);
+  }
+
+  ModelNode getModel() {
+    return model;
+  }
+
+  // e.g. $.applicants[2]
+  String getElementPath() {
+    if (elementPath == null) {
+      elementPath = path + "[" + index + "]";
+    }
+    return elementPath;
+  }
+
+  String getModelPath() {
+    return modelPath;
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.util.*;
+
+/*
+ * Hash indexes of the elements of the arrays of a document keyed on the value of a field of the elements. An
+ * index is built the first time an array is searched for a field value and replaces the scan of the array for
+ * name=value filters. As in the scan, the value of a field is compared as text and the first element with the
+ * value is the one found. Elements appended to an array are added to its index at the next search. Any other
+ * change to an array needs to invalidate its index. Methods are synchronized as searching a document builds
+ * indexes and a document may be read by more than one thread
+ */
+final class ArrayIndexCache {
+
+  // arrays smaller than this are scanned as the scan is cheaper than building an index
+  static final int MIN_ARRAY_SIZE = 16;
+
+  private static final class Index {
+
+    // value of the field -> index of the first element with the value
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    // number of elements of the array that have been added to the index
+    private int size = 0;
+
+  }
+
+  // keyed on the identity of the array node as array nodes with the same contents are equal
+  private Map<ArrayNode, Map<String, Index>> arrays = null;
+
+  // the fields on which indexes have been built
+  private Set<String> fields = null;
+
+  synchronized int indexOf(ArrayNode node, String field, String value) {
+    if (arrays == null) {
+      arrays = new IdentityHashMap<>();
+      fields = new HashSet<>();
+    }
+
+    Map<String, Index> indexes = arrays.computeIfAbsent(node, k -> new HashMap<>());
+    Index index = indexes.get(field);
+    int size = node.size();
+    if ((index == null) || (size < index.size)) {
+      index = new Index();
+      indexes.put(field, index);
+      fields.add(field);
+    }
+
+    // add the elements appended since the last search
+    for (int i = index.size; i < size; i++) {
+      JsonNode fieldNode = node.get(i).get(field);
+      if (fieldNode != null) {
+        index.indexes.putIfAbsent(fieldNode.asText(), i);
+      }
+    }
+    index.size = size;
+
+    Integer i = index.indexes.get(value);
+    return (i == null) ? -1 : i;
+  }
+
+  // invalidates the indexes of the array
+  synchronized void invalidate(ArrayNode node) {
+    if (arrays != null) {
+      arrays.remove(node);
+    }
+  }
+
+  // invalidates all indexes if an index has been built on the field as the field may belong to an indexed element
+  synchronized void invalidate(String field) {
+    if ((fields != null) && fields.contains(field)) {
+      clear();
+    }
+  }
+
+  synchronized void clear() {
+    arrays = null;
+    fields = null;
+  }
+
+}
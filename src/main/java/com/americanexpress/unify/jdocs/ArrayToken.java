@@ -32,14 +32,19 @@ class ArrayToken extends Token {
 
     private int index = -1;
 
-    public Filter(String field, String value) {
+    // true if the index or the value is a placeholder to be bound at the time of access
+    private boolean isSlot = false;
+
+    public Filter(String field, String value, boolean isSlot) {
       this.field = field;
       this.value = value;
+      this.isSlot = isSlot;
       type = FilterType.NAME_VALUE;
     }
 
-    public Filter(int index) {
+    public Filter(int index, boolean isSlot) {
       this.index = index;
+      this.isSlot = isSlot;
       type = FilterType.INDEX;
     }
 
@@ -63,18 +68,30 @@ class ArrayToken extends Token {
       return index;
     }
 
+    public boolean isSlot() {
+      return isSlot;
+    }
+
   }
 
-  private Filter filter = null;
+  private final Filter filter;
 
   public ArrayToken(String name, String field, String value, boolean isLeaf) {
+    this(name, field, value, isLeaf, false);
+  }
+
+  public ArrayToken(String name, String field, String value, boolean isLeaf, boolean isSlot) {
     super(name, isLeaf);
-    filter = new Filter(field, value);
+    filter = new Filter(field, value, isSlot);
   }
 
   public ArrayToken(String name, int index, boolean isLeaf) {
+    this(name, index, isLeaf, false);
+  }
+
+  public ArrayToken(String name, int index, boolean isLeaf, boolean isSlot) {
     super(name, isLeaf);
-    filter = new Filter(index);
+    filter = new Filter(index, isSlot);
   }
 
   public ArrayToken(String name, boolean isLeaf) {
@@ -24,6 +24,11 @@ public class CONSTS_JDOCS {
    */
   public static final String NEW_LINE = System.getProperty("line.separator");
 
+  // default number of parsed paths held in the path cache
+  public static final int DEFAULT_PATH_CACHE_SIZE = 1024;
+  // documents smaller than this, in chars or bytes, are always validated while they are read
+  public static final int MIN_PARALLEL_VALIDATION_SIZE = 64 * 1024;
+
   // these are the fields that appear in the format string i.e. the whole string for a leaf node
   public class FORMAT_FIELDS {
 
@@ -55,6 +60,7 @@ public class CONSTS_JDOCS {
     SET,
     GET_ARRAY_VALUE,
     SET_ARRAY_VALUE,
+    SET_ARRAY,
     PATH_EXISTS,
     CONTENT
   }
@@ -65,4 +71,9 @@ public class CONSTS_JDOCS {
     ONLY_AT_READ_WRITE
   }
 
+  public enum BINARY_FORMAT {
+    SMILE,
+    CBOR
+  }
+
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import com.americanexpress.unify.base.UnifyException;
+import io.vavr.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A path that is parsed once and then used any number of times to access documents. A % in the path can stand
+ * for an array index or the value of an array filter, for example $.applicants[%].phones[type=%].number. The
+ * values for the placeholders are supplied at the time of access and are bound directly into the parsed path
+ * without building and parsing a new path string.
+ *
+ * Instances are immutable and can be shared across threads and documents. They are obtained using
+ * {@link JDocument#compile(String)}.
+ */
+public class CompiledPath {
+
+  // the path as specified including the document type prefix if any
+  private final String path;
+
+  // the document type prefix, empty if not specified
+  private final String type;
+
+  // the path without the document type prefix
+  private final String staticPath;
+
+  // the parsed tokens. Placeholders are represented as slot tokens
+  private final List<Token> tokens;
+
+  // positions of the slot tokens in the token list in the order in which they appear in the path
+  private final int[] slots;
+
+  // true if any of the tokens is a name value filter
+  private final boolean hasFilters;
+
+  // the path in the model document corresponding to this path
+  private final String modelPath;
+
+  // bit set of the api and path access type combinations this path has been validated for
+  // concurrent updates may lose a bit which only results in the validation being carried out again
+  private volatile int validations = 0;
+
+  // the root of the model tree and the model node this path resolved to in that tree
+  private volatile Tuple2<ModelNode, ModelNode> resolvedModel = null;
+
+  CompiledPath(String path) {
+    Tuple2<String, String> t = JDocument.getDocTypeAndPath(path);
+    this.path = path;
+    this.type = t._1;
+    this.staticPath = t._2;
+    this.tokens = Collections.unmodifiableList(Parser.getTokens(staticPath, true));
+
+    List<Integer> list = new ArrayList<>();
+    boolean hasFilters = false;
+    for (int i = 0; i < tokens.size(); i++) {
+      Token token = tokens.get(i);
+      if (token.getField().equals(Parser.SLOT)) {
+        throw new UnifyException("jdoc_err_87", path);
+      }
+      if (token.isArray()) {
+        ArrayToken.Filter filter = ((ArrayToken)token).getFilter();
+        if (filter.getType() == ArrayToken.FilterType.NAME_VALUE) {
+          hasFilters = true;
+          if (filter.getField().equals(Parser.SLOT)) {
+            throw new UnifyException("jdoc_err_87", path);
+          }
+        }
+        if (filter.isSlot()) {
+          list.add(i);
+        }
+      }
+    }
+
+    // every placeholder in the path needs to have resulted in a slot
+    if (list.size() != getPlaceholderCount(staticPath)) {
+      throw new UnifyException("jdoc_err_87", path);
+    }
+
+    this.slots = new int[list.size()];
+    for (int i = 0; i < slots.length; i++) {
+      slots[i] = list.get(i);
+    }
+    this.hasFilters = hasFilters;
+    this.modelPath = JDocument.getModelPath(tokens);
+  }
+
+  private static int getPlaceholderCount(String path) {
+    int count = 0;
+    for (int i = 0; i < path.length(); i++) {
+      if ((path.charAt(i) == '%') && ((i == 0) || (path.charAt(i - 1) != '\\'))) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Gets the path as specified at the time of compilation
+   *
+   * @return the path
+   */
+  public String getPath() {
+    return path;
+  }
+
+  /**
+   * Gets the number of % placeholders in the path
+   *
+   * @return the number of placeholders
+   */
+  public int getPlaceholderCount() {
+    return slots.length;
+  }
+
+  @Override
+  public String toString() {
+    return path;
+  }
+
+  String getType() {
+    return type;
+  }
+
+  String getStaticPath() {
+    return staticPath;
+  }
+
+  List<Token> getTokens() {
+    return tokens;
+  }
+
+  boolean hasFilters() {
+    return hasFilters;
+  }
+
+  String getModelPath() {
+    return modelPath;
+  }
+
+  boolean isValidated(CONSTS_JDOCS.API api, PathAccessType pat) {
+    return (validations & getValidationBit(api, pat)) != 0;
+  }
+
+  void setValidated(CONSTS_JDOCS.API api, PathAccessType pat) {
+    validations = validations | getValidationBit(api, pat);
+  }
+
+  private static int getValidationBit(CONSTS_JDOCS.API api, PathAccessType pat) {
+    return 1 << ((api.ordinal() * PathAccessType.values().length) + pat.ordinal());
+  }
+
+  // returns the model node of this path if it was resolved against the same model tree, null otherwise
+  ModelNode getModelNode(ModelNode root) {
+    Tuple2<ModelNode, ModelNode> t = resolvedModel;
+    return ((t != null) && (t._1 == root)) ? t._2 : null;
+  }
+
+  void setModelNode(ModelNode root, ModelNode mn) {
+    resolvedModel = new Tuple2<>(root, mn);
+  }
+
+  List<Token> bind(String... vargs) {
+    if (vargs.length != slots.length) {
+      throw new UnifyException("jdoc_err_88", path);
+    }
+
+    if (slots.length == 0) {
+      return tokens;
+    }
+
+    List<Token> list = new ArrayList<>(tokens);
+    for (int i = 0; i < slots.length; i++) {
+      int pos = slots[i];
+      ArrayToken at = (ArrayToken)tokens.get(pos);
+      String value = vargs[i].trim();
+      if (at.getFilter().getType() == ArrayToken.FilterType.INDEX) {
+        int index = 0;
+        try {
+          index = Integer.parseInt(value);
+        }
+        catch (NumberFormatException e) {
+          throw new UnifyException("jdoc_err_89", value, path);
+        }
+        list.set(pos, new ArrayToken(at.getField(), index, at.isLeaf()));
+      }
+      else {
+        list.set(pos, new ArrayToken(at.getField(), at.getFilter().getField(), value, at.isLeaf()));
+      }
+    }
+
+    return list;
+  }
+
+  // integers bound to an index slot go straight into the filter. Integers bound to a value slot are
+  // converted to their string form as a filter value is always compared as a string
+  List<Token> bind(int index, int... indexes) {
+    if ((indexes.length + 1) != slots.length) {
+      throw new UnifyException("jdoc_err_88", path);
+    }
+
+    List<Token> list = new ArrayList<>(tokens);
+    for (int i = 0; i < slots.length; i++) {
+      int pos = slots[i];
+      ArrayToken at = (ArrayToken)tokens.get(pos);
+      int value = (i == 0) ? index : indexes[i - 1];
+      if (at.getFilter().getType() == ArrayToken.FilterType.INDEX) {
+        list.set(pos, new ArrayToken(at.getField(), value, at.isLeaf()));
+      }
+      else {
+        list.set(pos, new ArrayToken(at.getField(), at.getFilter().getField(), String.valueOf(value), at.isLeaf()));
+      }
+    }
+
+    return list;
+  }
+
+}
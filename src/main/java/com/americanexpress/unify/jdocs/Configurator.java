@@ -25,6 +25,8 @@ public class Configurator {
   private Boolean ignoreDocTypePrefixForBaseDocs = null;
   private Boolean deleteEmptyObject = null;
   private Boolean deleteEmptyArray = null;
+  private Integer parallelValidationThreshold = null;
+  private Boolean cacheSerializedForm = null;
 
   public Configurator() {
     // nothing to do
@@ -60,6 +62,16 @@ public class Configurator {
     return this;
   }
 
+  public Configurator parallelValidationThreshold(int parallelValidationThreshold) {
+    this.parallelValidationThreshold = parallelValidationThreshold;
+    return this;
+  }
+
+  public Configurator cacheSerializedForm(boolean cacheSerializedForm) {
+    this.cacheSerializedForm = cacheSerializedForm;
+    return this;
+  }
+
   void configure() {
     // set the static values and check as we go along
     if (defaultValidationType != null) {
@@ -86,6 +98,16 @@ public class Configurator {
     if (deleteEmptyArray != null) {
       JDocument.deleteEmptyArray = deleteEmptyArray;
     }
+
+    if (parallelValidationThreshold != null) {
+      // a value of 0 or less turns parallel validation off
+      JDocument.parallelValidationThreshold = Math.max(parallelValidationThreshold, 0);
+    }
+
+    if (cacheSerializedForm != null) {
+      // only applies to documents created from now on
+      JDocument.cacheSerializedForm = cacheSerializedForm;
+    }
   }
 
 }
@@ -16,8 +16,14 @@ package com.americanexpress.unify.jdocs;
 
 import com.americanexpress.unify.base.UnifyException;
 
+import java.io.OutputStream;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /*
  * @author Deepak Arora
@@ -97,6 +103,20 @@ public interface Document {
    */
   int getArraySize(String path, String... vargs);
 
+  /**
+   * Gets a cursor over the elements of the array at the path specified. The values of the elements are read and
+   * written using paths relative to the element the cursor is on which avoids traversing the document from its
+   * root for every value.
+   *
+   * @param path  the path of the array ending in []
+   * @param vargs the values to replace the % characters in path
+   * @return the cursor. If the path is not found in the document, the cursor has no elements
+   * @throws UnifyException If the document is a typed document and the path is not found in the associated model document
+   *                        If the path specified does not contain empty square brackets in the end i.e. []
+   *                        If the node in the json document corresponding to the path is not of an array type
+   */
+  ArrayCursor getArrayCursor(String path, String... vargs);
+
   /**
    * Gets the index of an element in the array that contains a field equal to the value as specified in the filter
    * criteria
@@ -177,6 +197,50 @@ public interface Document {
    */
   BigDecimal getBigDecimal(String path, String... vargs);
 
+  /**
+   * Gets the int value stored in the given path. The value is read without creating a boxed value
+   *
+   * @param path         the path
+   * @param defaultValue the value returned if the path does not exist in the document or has a null value
+   * @param vargs        the values to replace the % characters in path
+   * @return the value stored at the path, truncated to an int if it is not an integer
+   * @throws UnifyException In the same cases as getInteger
+   */
+  int getInt(String path, int defaultValue, String... vargs);
+
+  /**
+   * Gets the long value stored in the given path. The value is read without creating a boxed value
+   *
+   * @param path         the path
+   * @param defaultValue the value returned if the path does not exist in the document or has a null value
+   * @param vargs        the values to replace the % characters in path
+   * @return the value stored at the path, truncated to a long if it is not an integer
+   * @throws UnifyException In the same cases as getLong
+   */
+  long getLong(String path, long defaultValue, String... vargs);
+
+  /**
+   * Gets the boolean value stored in the given path. The value is read without creating a boxed value
+   *
+   * @param path         the path
+   * @param defaultValue the value returned if the path does not exist in the document or has a null value
+   * @param vargs        the values to replace the % characters in path
+   * @return the value stored at the path
+   * @throws UnifyException In the same cases as getBoolean
+   */
+  boolean getBool(String path, boolean defaultValue, String... vargs);
+
+  /**
+   * Gets the double value stored in the given path. The value is read without creating a boxed value
+   *
+   * @param path         the path
+   * @param defaultValue the value returned if the path does not exist in the document or has a null value
+   * @param vargs        the values to replace the % characters in path
+   * @return the value stored at the path converted to a double
+   * @throws UnifyException In the same cases as getBigDecimal
+   */
+  double getDouble(String path, double defaultValue, String... vargs);
+
   /**
    * Gets the value stored in the given path as an Object
    *
@@ -190,6 +254,17 @@ public interface Document {
    */
   Object getValue(String path, String... vargs);
 
+  /**
+   * Gets the values stored in the given paths. The document is traversed once for all the paths and the part of
+   * the traversal common to paths that start with the same tokens is done only once
+   *
+   * @param paths the paths which may contain array filters but no % characters
+   * @return a map of each path to its value as would be returned by getValue, in the order of the paths. If a path
+   * is not found in the document, its value is null
+   * @throws UnifyException In the same cases as getValue for any of the paths
+   */
+  Map<String, Object> getValues(Collection<String> paths);
+
   /**
    * Gets the value stored in the given array vaalue path as an Object
    *
@@ -282,6 +357,88 @@ public interface Document {
    */
   String getPrettyPrintJson();
 
+  /**
+   * Writes the JSON of the document in a compressed format to the stream. The JSON is encoded in UTF-8 and written
+   * as it is generated without first creating a string. The stream is flushed but not closed
+   *
+   * @param os the stream to write to
+   */
+  void writeTo(OutputStream os);
+
+  /**
+   * Writes the JSON of the document to the stream in a compressed or a pretty format. The pretty format is the same
+   * as that of {@link #getPrettyPrintJson()}. The stream is flushed but not closed
+   *
+   * @param os          the stream to write to
+   * @param prettyPrint true for the pretty format
+   */
+  void writeTo(OutputStream os, boolean prettyPrint);
+
+  /**
+   * Writes the JSON of the document in a compressed format to the writer. The writer is flushed but not closed
+   *
+   * @param writer the writer to write to
+   */
+  void writeTo(Writer writer);
+
+  /**
+   * Writes the JSON of the document to the writer in a compressed or a pretty format. The writer is flushed but not
+   * closed
+   *
+   * @param writer      the writer to write to
+   * @param prettyPrint true for the pretty format
+   */
+  void writeTo(Writer writer, boolean prettyPrint);
+
+  /**
+   * Writes the JSON of the document encoded in UTF-8 in a compressed format to the buffer starting at its position.
+   * The position of the buffer is moved to the end of the JSON
+   *
+   * @param buffer the buffer to write to
+   * @throws UnifyException if the JSON does not fit in the remaining space of the buffer in which case the position
+   *                        of the buffer is not changed
+   */
+  void writeTo(ByteBuffer buffer);
+
+  /**
+   * Writes the JSON of the document to the buffer in a compressed or a pretty format
+   *
+   * @param buffer      the buffer to write to
+   * @param prettyPrint true for the pretty format
+   */
+  void writeTo(ByteBuffer buffer, boolean prettyPrint);
+
+  /**
+   * Get the JSON of the document encoded in UTF-8 in a compressed format. The bytes are generated directly without
+   * first creating a string
+   *
+   * @return the bytes of the JSON
+   */
+  byte[] toBytes();
+
+  /**
+   * Get the JSON of the document encoded in UTF-8 in a compressed or a pretty format
+   *
+   * @param prettyPrint true for the pretty format
+   * @return the bytes of the JSON
+   */
+  byte[] toBytes(boolean prettyPrint);
+
+  /**
+   * Get the document encoded in the binary format, Smile or CBOR, set at the time of initialization. Names and
+   * string values that are repeated in the document are written as references to their first occurrence
+   *
+   * @return the bytes of the document
+   */
+  byte[] toBinary();
+
+  /**
+   * Writes the document encoded in the binary format to the stream. The stream is flushed but not closed
+   *
+   * @param os the stream to write to
+   */
+  void writeBinaryTo(OutputStream os);
+
   /**
    * Used to determine if the specified path exists in the document
    *
@@ -312,6 +469,20 @@ public interface Document {
    */
   Document getDocument(String path, String... vargs);
 
+  /**
+   * Get a view of a non leaf node. The view is backed by the nodes of this document and no copy is made. For a typed
+   * document, the view is also typed and its paths are validated against the part of the model at the path. A
+   * writable view writes into this document. A view of a part that is later deleted or replaced in this document
+   * no longer reflects this document
+   *
+   * @param path       the path
+   * @param isReadOnly if true, the view cannot be written to
+   * @param vargs      the values to replace the % characters in path
+   * @return Document
+   * @throws UnifyException If path is not found or path is a leaf node
+   */
+  Document getDocumentView(String path, boolean isReadOnly, String... vargs);
+
   /**
    * Returns the content of the specified path as a new document
    * The path can only point to a complex object or an array element. It can also point to an array only if
@@ -391,6 +562,18 @@ public interface Document {
    */
   void setBigDecimal(String path, BigDecimal value, String... vargs);
 
+  /**
+   * Applies a set of writes to the document as one edit e.g. doc.edit(e -> { e.setString(...); e.setInteger(...); })
+   * The writes are collected in a {@link DocumentEdit} and applied in the order in which they were collected once the
+   * editor returns. The part of the paths common to more than one write is traversed only once
+   *
+   * @param editor the consumer that collects the writes using the set methods of the edit
+   * @throws UnifyException In the same cases as the set methods for any of the writes. For a typed document, all writes
+   *                        are validated before the document is changed. If a write fails while being applied, the
+   *                        writes already applied are undone so that the document is left unchanged
+   */
+  void edit(Consumer<DocumentEdit> editor);
+
   /**
    * Set the specified value in the specified path
    *
@@ -455,6 +638,43 @@ public interface Document {
    */
   void setArrayValueBigDecimal(String path, BigDecimal value, String... vargs);
 
+  /**
+   * Appends the values to the end of the array in the given path. The path to the array is traversed once for all the values
+   *
+   * @param path   the path of the array which has to end in [] e.g. $.codes[]
+   * @param values the values to append which may be String, Integer, Long, BigDecimal, Boolean or null
+   * @param vargs  the values to replace the % characters in path
+   * @throws UnifyException If the path does not end in []
+   *                        If the document is a typed document and the path is not found in the associated model document
+   *                        If the document is a typed document and a value does not match the model of the elements of the array
+   *                        If a value is of a type that is not supported
+   *                        In all of the above cases, no value is appended
+   */
+  void appendArrayValues(String path, Collection<?> values, String... vargs);
+
+  /**
+   * Replaces the elements of the array in the given path with the values
+   *
+   * @param path   the path of the array which has to end in [] e.g. $.codes[]
+   * @param values the values to set which may be String, Integer, Long, BigDecimal, Boolean or null
+   * @param vargs  the values to replace the % characters in path
+   * @throws UnifyException In the same cases as appendArrayValues in which case the array is not changed
+   */
+  void setArrayValues(String path, Collection<?> values, String... vargs);
+
+  /**
+   * Appends the contents of the documents as elements to the end of the array in the given path
+   *
+   * @param path  the path of the array which has to end in [] e.g. $.members[]
+   * @param docs  the documents each of which has to have an object at its root
+   * @param vargs the values to replace the % characters in path
+   * @throws UnifyException If the path does not end in []
+   *                        If the document is a typed document and the path is not found in the associated model document
+   *                        If the document is a typed document and the contents of a document do not match the model of the elements of the array
+   *                        In all of the above cases, no element is appended
+   */
+  void appendElements(String path, List<Document> docs, String... vargs);
+
   /**
    * Sets the specified value in the specified array element in the given path
    *
@@ -562,4 +782,466 @@ public interface Document {
    */
   public void removeNullsAndEmpty(boolean removeNullFields, boolean removeEmptyObjects, boolean removeEmptyArrays);
 
+  /**
+   * Checks if the path exists in the document. Same as {@link #pathExists(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public boolean pathExists(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #pathExists(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public boolean pathExists(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Gets the size of the array at the path. Same as {@link #getArraySize(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public int getArraySize(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #getArraySize(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public int getArraySize(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Gets the index of the array element at the path. Same as {@link #getArrayIndex(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public int getArrayIndex(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #getArrayIndex(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public int getArrayIndex(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Gets the value at the path. Same as {@link #getValue(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public Object getValue(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #getValue(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public Object getValue(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Gets the value at the path as a string. Same as {@link #getString(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public String getString(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #getString(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public String getString(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Gets the value at the path as an integer. Same as {@link #getInteger(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public Integer getInteger(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #getInteger(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public Integer getInteger(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Gets the value at the path as a boolean. Same as {@link #getBoolean(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public Boolean getBoolean(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #getBoolean(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public Boolean getBoolean(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Gets the value at the path as a long. Same as {@link #getLong(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public Long getLong(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #getLong(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public Long getLong(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Gets the value at the path as a BigDecimal. Same as {@link #getBigDecimal(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public BigDecimal getBigDecimal(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #getBigDecimal(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public BigDecimal getBigDecimal(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Gets the value of the value array element at the path. Same as {@link #getArrayValue(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public Object getArrayValue(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #getArrayValue(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public Object getArrayValue(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Gets the value of the value array element at the path as a string. Same as {@link #getArrayValueString(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public String getArrayValueString(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #getArrayValueString(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public String getArrayValueString(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Gets the value of the value array element at the path as an integer. Same as {@link #getArrayValueInteger(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public Integer getArrayValueInteger(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #getArrayValueInteger(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public Integer getArrayValueInteger(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Gets the value of the value array element at the path as a boolean. Same as {@link #getArrayValueBoolean(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public Boolean getArrayValueBoolean(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #getArrayValueBoolean(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public Boolean getArrayValueBoolean(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Gets the value of the value array element at the path as a long. Same as {@link #getArrayValueLong(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public Long getArrayValueLong(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #getArrayValueLong(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public Long getArrayValueLong(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Gets the value of the value array element at the path as a BigDecimal. Same as {@link #getArrayValueBigDecimal(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public BigDecimal getArrayValueBigDecimal(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #getArrayValueBigDecimal(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public BigDecimal getArrayValueBigDecimal(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Deletes the path. Same as {@link #deletePath(String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param vargs values for the % placeholders in the path
+   */
+  public void deletePath(CompiledPath path, String... vargs);
+
+  /**
+   * Same as {@link #deletePath(CompiledPath, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public void deletePath(CompiledPath path, int index, int... indexes);
+
+  /**
+   * Sets a string value at the path. Same as {@link #setString(String, String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param value the value
+   * @param vargs values for the % placeholders in the path
+   */
+  public void setString(CompiledPath path, String value, String... vargs);
+
+  /**
+   * Same as {@link #setString(CompiledPath, String, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param value   the value
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public void setString(CompiledPath path, String value, int index, int... indexes);
+
+  /**
+   * Sets an integer value at the path. Same as {@link #setInteger(String, int, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param value the value
+   * @param vargs values for the % placeholders in the path
+   */
+  public void setInteger(CompiledPath path, int value, String... vargs);
+
+  /**
+   * Same as {@link #setInteger(CompiledPath, int, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param value   the value
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public void setInteger(CompiledPath path, int value, int index, int... indexes);
+
+  /**
+   * Sets a boolean value at the path. Same as {@link #setBoolean(String, boolean, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param value the value
+   * @param vargs values for the % placeholders in the path
+   */
+  public void setBoolean(CompiledPath path, boolean value, String... vargs);
+
+  /**
+   * Same as {@link #setBoolean(CompiledPath, boolean, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param value   the value
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public void setBoolean(CompiledPath path, boolean value, int index, int... indexes);
+
+  /**
+   * Sets a long value at the path. Same as {@link #setLong(String, long, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param value the value
+   * @param vargs values for the % placeholders in the path
+   */
+  public void setLong(CompiledPath path, long value, String... vargs);
+
+  /**
+   * Same as {@link #setLong(CompiledPath, long, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param value   the value
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public void setLong(CompiledPath path, long value, int index, int... indexes);
+
+  /**
+   * Sets a BigDecimal value at the path. Same as {@link #setBigDecimal(String, BigDecimal, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param value the value
+   * @param vargs values for the % placeholders in the path
+   */
+  public void setBigDecimal(CompiledPath path, BigDecimal value, String... vargs);
+
+  /**
+   * Same as {@link #setBigDecimal(CompiledPath, BigDecimal, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param value   the value
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public void setBigDecimal(CompiledPath path, BigDecimal value, int index, int... indexes);
+
+  /**
+   * Sets a string value in the value array at the path. Same as {@link #setArrayValueString(String, String, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param value the value
+   * @param vargs values for the % placeholders in the path
+   */
+  public void setArrayValueString(CompiledPath path, String value, String... vargs);
+
+  /**
+   * Same as {@link #setArrayValueString(CompiledPath, String, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param value   the value
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public void setArrayValueString(CompiledPath path, String value, int index, int... indexes);
+
+  /**
+   * Sets an integer value in the value array at the path. Same as {@link #setArrayValueInteger(String, int, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param value the value
+   * @param vargs values for the % placeholders in the path
+   */
+  public void setArrayValueInteger(CompiledPath path, int value, String... vargs);
+
+  /**
+   * Same as {@link #setArrayValueInteger(CompiledPath, int, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param value   the value
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public void setArrayValueInteger(CompiledPath path, int value, int index, int... indexes);
+
+  /**
+   * Sets a boolean value in the value array at the path. Same as {@link #setArrayValueBoolean(String, boolean, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param value the value
+   * @param vargs values for the % placeholders in the path
+   */
+  public void setArrayValueBoolean(CompiledPath path, boolean value, String... vargs);
+
+  /**
+   * Same as {@link #setArrayValueBoolean(CompiledPath, boolean, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param value   the value
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public void setArrayValueBoolean(CompiledPath path, boolean value, int index, int... indexes);
+
+  /**
+   * Sets a long value in the value array at the path. Same as {@link #setArrayValueLong(String, long, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param value the value
+   * @param vargs values for the % placeholders in the path
+   */
+  public void setArrayValueLong(CompiledPath path, long value, String... vargs);
+
+  /**
+   * Same as {@link #setArrayValueLong(CompiledPath, long, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param value   the value
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public void setArrayValueLong(CompiledPath path, long value, int index, int... indexes);
+
+  /**
+   * Sets a BigDecimal value in the value array at the path. Same as {@link #setArrayValueBigDecimal(String, BigDecimal, String...)} but using a compiled path
+   *
+   * @param path  the compiled path
+   * @param value the value
+   * @param vargs values for the % placeholders in the path
+   */
+  public void setArrayValueBigDecimal(CompiledPath path, BigDecimal value, String... vargs);
+
+  /**
+   * Same as {@link #setArrayValueBigDecimal(CompiledPath, BigDecimal, String...)} but with the placeholder values specified as integers
+   *
+   * @param path    the compiled path
+   * @param value   the value
+   * @param index   value for the first % placeholder in the path
+   * @param indexes values for the remaining % placeholders in the path
+   */
+  public void setArrayValueBigDecimal(CompiledPath path, BigDecimal value, int index, int... indexes);
+
 }
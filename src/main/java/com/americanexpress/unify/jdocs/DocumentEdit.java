@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A set of writes to a document that are applied together. The writes are collected using the set methods of
+ * this class and are applied to the document in the order in which they were collected when the edit completes.
+ * For a typed document, all writes are validated before any of them is applied. If a write fails, the writes
+ * already applied are undone so that either all the writes of the edit are made or none.
+ *
+ * An edit is obtained using {@link Document#edit(java.util.function.Consumer)}. The document does not reflect
+ * the writes of the edit till the edit completes.
+ */
+public final class DocumentEdit {
+
+  private final JDocument doc;
+
+  // the static paths of the writes
+  private final List<String> paths = new ArrayList<>();
+
+  private final List<Object> values = new ArrayList<>();
+
+  DocumentEdit(JDocument doc) {
+    this.doc = doc;
+  }
+
+  /**
+   * Same as {@link Document#setString(String, String, String...)} but applied when the edit completes
+   */
+  public void setString(String path, String value, String... vargs) {
+    add(path, value, vargs);
+  }
+
+  /**
+   * Same as {@link Document#setInteger(String, int, String...)} but applied when the edit completes
+   */
+  public void setInteger(String path, int value, String... vargs) {
+    add(path, value, vargs);
+  }
+
+  /**
+   * Same as {@link Document#setLong(String, long, String...)} but applied when the edit completes
+   */
+  public void setLong(String path, long value, String... vargs) {
+    add(path, value, vargs);
+  }
+
+  /**
+   * Same as {@link Document#setBoolean(String, boolean, String...)} but applied when the edit completes
+   */
+  public void setBoolean(String path, boolean value, String... vargs) {
+    add(path, value, vargs);
+  }
+
+  /**
+   * Same as {@link Document#setBigDecimal(String, BigDecimal, String...)} but applied when the edit completes
+   */
+  public void setBigDecimal(String path, BigDecimal value, String... vargs) {
+    add(path, value, vargs);
+  }
+
+  /**
+   * Gets the number of writes collected in the edit
+   *
+   * @return the number of writes
+   */
+  public int size() {
+    return paths.size();
+  }
+
+  private void add(String path, Object value, String... vargs) {
+    paths.add(doc.getStaticPath(path, vargs));
+    values.add(value);
+  }
+
+  List<String> getPaths() {
+    return paths;
+  }
+
+  List<Object> getValues() {
+    return values;
+  }
+
+}
@@ -107,6 +107,13 @@ public class ERRORS_JDOCS extends ErrorMap {
     map.put("jdoc_err_84", "Path already exists and is of a different type. Cannot overwrite. Path -> {0}");
     map.put("jdoc_err_85", "For the policies ENFORCE_FOR_SPECIFIED_TYPES_ONLY or IGNORE_FOR_SPECIFIED_TYPES_ONLY, at least one or more document types need to be provided in the list");
     map.put("jdoc_err_86", "No document type specified in the path -> {0}");
+    map.put("jdoc_err_87", "Invalid compiled path. A % can only stand for an array index or the value of an array filter. Path -> {0}");
+    map.put("jdoc_err_88", "Number of values supplied does not match the number of % placeholders in path -> {0}");
+    map.put("jdoc_err_89", "Invalid array index value -> {0} in path -> {1}");
+    map.put("jdoc_err_90", "Cyclic reference to model fragments -> {0}");
+    map.put("jdoc_err_91", "Model fragment not found -> {0}");
+    map.put("jdoc_err_92", "Model fragment is not a JSON object -> {0}");
+    map.put("jdoc_err_93", "Document does not fit in the remaining space of the buffer -> {0}");
   }
 
 }
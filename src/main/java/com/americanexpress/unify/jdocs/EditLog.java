@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * The changes made to the nodes of a document by the writes of an edit. Each change is logged before it is made
+ * and the log is used to undo the changes in the reverse order if a write of the edit fails
+ */
+final class EditLog {
+
+  private final List<Runnable> undos = new ArrayList<>();
+
+  // the number of times an object or array node has been replaced by a write
+  private int containersReplaced = 0;
+
+  // logs the setting of a field of an object node
+  void logPut(ObjectNode node, String field) {
+    JsonNode oldNode = node.get(field);
+    if (oldNode == null) {
+      undos.add(() -> node.remove(field));
+    }
+    else {
+      checkContainer(oldNode);
+      undos.add(() -> node.set(field, oldNode));
+    }
+  }
+
+  // logs the replacement of an element of an array node
+  void logSet(ArrayNode node, int index) {
+    JsonNode oldNode = node.get(index);
+    checkContainer(oldNode);
+    undos.add(() -> node.set(index, oldNode));
+  }
+
+  // logs the addition of an element at the end of an array node
+  void logAdd(ArrayNode node) {
+    int size = node.size();
+    undos.add(() -> node.remove(size));
+  }
+
+  int getContainersReplaced() {
+    return containersReplaced;
+  }
+
+  void undo() {
+    for (int i = undos.size() - 1; i >= 0; i--) {
+      undos.get(i).run();
+    }
+    undos.clear();
+  }
+
+  private void checkContainer(JsonNode node) {
+    if (node.isContainerNode()) {
+      containersReplaced++;
+    }
+  }
+
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import com.americanexpress.unify.base.BaseUtils;
+import com.americanexpress.unify.base.UnifyException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static com.americanexpress.unify.jdocs.DataType.*;
+
+/*
+ * The compiled form of the format string of a leaf field in a model document. The format string is parsed once
+ * and the data type, regex pattern, date formatter and the bounds are resolved up front so that validating a
+ * value does not need to look at the format string again. Instances are immutable and shared across threads
+ */
+final class FieldValidator {
+
+  private final DataType dataType;
+
+  // the date format as specified in the model, null if the data type is not date
+  private final String dateFormat;
+
+  // null if the data type is not date or if the date format is not a valid pattern
+  private final DateTimeFormatter dateFormatter;
+
+  private final boolean isNullAllowed;
+
+  private final boolean ignoreRegexIfEmptyString;
+
+  private final boolean isEmptyDateAllowed;
+
+  // null if no regex is specified
+  private final Pattern pattern;
+
+  // if not specified, bounds are set such that the check always passes
+  private final int minLength;
+  private final int maxLength;
+  private final long minValue;
+  private final long maxValue;
+
+  // null if not specified
+  private final BigDecimal minDecimal;
+  private final BigDecimal maxDecimal;
+  private final Instant minDate;
+  private final Instant maxDate;
+
+  private FieldValidator(JsonNode node) {
+    // "{\"field\":\"field_name\"}"
+    // mandatory if the field name is jdocs_arr_pk
+
+    // "{\"type\":\"string\"}"
+    // mandatory for all data types
+
+    // "{\"regex\":\"\\\\w{17,17}\"}" // just an example
+    // optional and applicable for all data types except date
+
+    // "{\"ignore_regex_if_empty_string\":true|false}"
+    // optional and applicable only for string data type as other data types cannot have an empty value
+    // if not specified, default is false
+
+    // "{\"null_allowed\":true|false}"
+    // optional and applicable for all data types
+    // if not specified, default is false
+
+    // "{\"empty_date_allowed\":true|false}"
+    // optional and applicable only for date type
+    // if not specified, default is true
+
+    // "{\"format\":\"uuuu-MM-dd HH:mm:ss.SSS GMT\"}" // just an example
+    // mandatory and applicable only for date data type.
+
+    // "{\"min_length\":10}" // just an example
+    // "{\"max_length\":20}" // just an example
+    // optional and applicable only for String type
+
+    // "{\"min_value\":10}" // just an example
+    // "{\"max_value\":20.00}" // just an example
+    // optional and applicable only for integer, long and decimal
+    // note that the value should match the data type
+
+    // "{\"min_date\":\"2025-01-01\"}" // just an example
+    // "{\"max_date\":\"2025-02-01\"}" // just an example
+    // optional and applicable only for date
+    // note that the value should match the date format specification
+
+    dataType = DataType.valueOf(node.get(CONSTS_JDOCS.FORMAT_FIELDS.TYPE).asText().toUpperCase());
+    isNullAllowed = getBoolean(node, CONSTS_JDOCS.FORMAT_FIELDS.NULL_ALLOWED, false);
+
+    // by default do not ignore. Historically we have been disallowing an empty string if it does not match
+    // regex pattern. The new requirement is to be able to ignore regex if the value is empty
+    ignoreRegexIfEmptyString = getBoolean(node, CONSTS_JDOCS.FORMAT_FIELDS.IGNORE_REGEX_IF_EMPTY_STRING, false);
+
+    // by default, we ignore. Historically we have been ignoring the format if an empty date value
+    // is provided. The new requirement is to not allow an empty date value
+    isEmptyDateAllowed = getBoolean(node, CONSTS_JDOCS.FORMAT_FIELDS.EMPTY_DATE_ALLOWED, true);
+
+    JsonNode regexNode = node.get(CONSTS_JDOCS.FORMAT_FIELDS.REGEX);
+    pattern = ((regexNode == null) || (dataType == DATE)) ? null : Pattern.compile(regexNode.asText());
+
+    JsonNode node1 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MIN_LENGTH);
+    JsonNode node2 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MAX_LENGTH);
+    minLength = (node1 == null) ? Integer.MIN_VALUE : node1.asInt();
+    maxLength = (node2 == null) ? Integer.MAX_VALUE : node2.asInt();
+
+    node1 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MIN_VALUE);
+    node2 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MAX_VALUE);
+    if (dataType == INTEGER) {
+      minValue = (node1 == null) ? Long.MIN_VALUE : node1.asInt();
+      maxValue = (node2 == null) ? Long.MAX_VALUE : node2.asInt();
+    }
+    else {
+      minValue = (node1 == null) ? Long.MIN_VALUE : node1.asLong();
+      maxValue = (node2 == null) ? Long.MAX_VALUE : node2.asLong();
+    }
+    minDecimal = ((node1 == null) || (dataType != DECIMAL)) ? null : node1.decimalValue();
+    maxDecimal = ((node2 == null) || (dataType != DECIMAL)) ? null : node2.decimalValue();
+
+    if (dataType == DATE) {
+      JsonNode formatNode = node.get(CONSTS_JDOCS.FORMAT_FIELDS.FORMAT);
+      dateFormat = (formatNode == null) ? "" : formatNode.asText();
+      DateTimeFormatter dtf = null;
+      try {
+        dtf = DateTimeFormatter.ofPattern(dateFormat).withResolverStyle(ResolverStyle.STRICT);
+      }
+      catch (Exception e) {
+        // the value will fail the format check
+      }
+      dateFormatter = dtf;
+
+      node1 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MIN_DATE);
+      node2 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MAX_DATE);
+      minDate = ((node1 == null) || (dtf == null)) ? null : BaseUtils.getInstantFromString(node1.asText(), dtf);
+      maxDate = ((node2 == null) || (dtf == null)) ? null : BaseUtils.getInstantFromString(node2.asText(), dtf);
+    }
+    else {
+      dateFormat = null;
+      dateFormatter = null;
+      minDate = null;
+      maxDate = null;
+    }
+  }
+
+  private static boolean getBoolean(JsonNode node, String field, boolean defaultValue) {
+    JsonNode node1 = node.get(field);
+    return (node1 == null) ? defaultValue : node1.booleanValue();
+  }
+
+  static FieldValidator compile(String type, String path, String format) {
+    JsonNode node = null;
+    try {
+      node = JDocument.objectMapper.readTree(format);
+    }
+    catch (IOException e) {
+      throw new UnifyException("jdoc_err_63", type, path, format);
+    }
+
+    if (node.get(CONSTS_JDOCS.FORMAT_FIELDS.TYPE) == null) {
+      throw new UnifyException("jdoc_err_61", path);
+    }
+
+    try {
+      return new FieldValidator(node);
+    }
+    catch (IllegalArgumentException e) {
+      // an unknown data type or an invalid regex
+      throw new UnifyException("jdoc_err_63", type, path, format);
+    }
+  }
+
+  DataType getDataType() {
+    return dataType;
+  }
+
+  // if errorList is null, the first validation failure results in an exception else all failures are added to the list
+  void validate(Object value, String path, List<String> errorList) {
+    validate1(value, path, errorList);
+  }
+
+  void validate(Object value, PathStack path, List<String> errorList) {
+    validate1(value, path, errorList);
+  }
+
+  // the path is converted to a string only if an error is recorded
+  private void validate1(Object value, Object path, List<String> errorList) {
+    while (true) {
+      // check that a date field has to have a format. Whether the format is correct or not will be validated later
+      if ((dataType == DATE) && dateFormat.isEmpty()) {
+        throwExceptionOrSetErrorList("jdoc_err_71", path, errorList);
+        break;
+      }
+
+      // check for null_allowed
+      if (value == null) {
+        if (isNullAllowed == false) {
+          throwExceptionOrSetErrorList("jdoc_err_36", path, errorList);
+        }
+        break;
+      }
+
+      // check data types
+      switch (dataType) {
+        case STRING:
+        case DATE:
+          if ((value instanceof String) == false) {
+            throwExceptionOrSetErrorList("jdoc_err_37", path, errorList);
+          }
+          break;
+
+        case BOOLEAN:
+          if ((value instanceof Boolean) == false) {
+            throwExceptionOrSetErrorList("jdoc_err_37", path, errorList);
+          }
+          break;
+
+        case INTEGER:
+          if (((value instanceof Integer) == false)) {
+            throwExceptionOrSetErrorList("jdoc_err_37", path, errorList);
+          }
+          break;
+
+        case LONG:
+          if (((value instanceof Long) == false) && ((value instanceof Integer) == false)) {
+            throwExceptionOrSetErrorList("jdoc_err_37", path, errorList);
+          }
+          break;
+
+        case DECIMAL:
+          // Couchbase stores a decimal value of 10.00 as 10 in the json document
+          // hence when we read the document and construct the typed document we
+          // will need to check against int and long data types as well
+          if (((value instanceof BigDecimal) == false) && ((value instanceof Integer) == false) && ((value instanceof Long) == false)) {
+            throwExceptionOrSetErrorList("jdoc_err_37", path, errorList);
+          }
+          break;
+
+        default:
+          break;
+      }
+
+      // the string form is only needed for strings, dates and regex checks
+      String s = ((dataType == STRING) || (dataType == DATE) || (pattern != null)) ? value.toString() : null;
+
+      // check for ignore_regex_if_empty_string
+      if ((dataType == STRING) && s.isEmpty() && (ignoreRegexIfEmptyString == true)) {
+        break;
+      }
+
+      // check for empty_date_allowed
+      if ((dataType == DATE) && s.isEmpty()) {
+        if (isEmptyDateAllowed == true) {
+          break;
+        }
+        else {
+          throwExceptionOrSetErrorList("jdoc_err_70", path, errorList);
+        }
+      }
+
+      // check for regex
+      if (pattern != null) {
+        if (pattern.matcher(s).matches() == false) {
+          throwExceptionOrSetErrorList("jdoc_err_54", path, errorList);
+        }
+      }
+
+      switch (dataType) {
+        case DATE:
+          validateDate(s, path, errorList);
+          break;
+
+        case STRING: {
+          // check for min and max length
+          int length = s.length();
+          if (minLength > length) {
+            throwExceptionOrSetErrorList("jdoc_err_74", path, errorList);
+          }
+          if (maxLength < length) {
+            throwExceptionOrSetErrorList("jdoc_err_75", path, errorList);
+          }
+          break;
+        }
+
+        case INTEGER:
+        case LONG:
+          // check for min and max value
+          if ((minValue != Long.MIN_VALUE) || (maxValue != Long.MAX_VALUE)) {
+            long val = 0;
+            if (dataType == INTEGER) {
+              val = (value instanceof Integer) ? (Integer)value : Integer.parseInt(value.toString());
+            }
+            else {
+              val = ((value instanceof Long) || (value instanceof Integer)) ? ((Number)value).longValue() : Long.parseLong(value.toString());
+            }
+            if (minValue > val) {
+              throwExceptionOrSetErrorList("jdoc_err_76", path, errorList);
+            }
+            if (maxValue < val) {
+              throwExceptionOrSetErrorList("jdoc_err_77", path, errorList);
+            }
+          }
+          break;
+
+        case DECIMAL:
+          // check for min and max value
+          if ((minDecimal != null) || (maxDecimal != null)) {
+            BigDecimal val = (value instanceof BigDecimal) ? (BigDecimal)value : new BigDecimal(value.toString());
+            if ((minDecimal != null) && (minDecimal.compareTo(val) > 0)) {
+              throwExceptionOrSetErrorList("jdoc_err_76", path, errorList);
+            }
+            if ((maxDecimal != null) && (maxDecimal.compareTo(val) < 0)) {
+              throwExceptionOrSetErrorList("jdoc_err_77", path, errorList);
+            }
+          }
+          break;
+
+        default:
+          break;
+      }
+
+      break;
+    }
+  }
+
+  private void validateDate(String s, Object path, List<String> errorList) {
+    // match the date with the format. The date is parsed into an instant only if it needs to be checked against bounds
+    if (dateFormatter == null) {
+      throwExceptionOrSetErrorList("jdoc_err_51", path, errorList);
+      return;
+    }
+
+    Instant val = null;
+    try {
+      if ((minDate == null) && (maxDate == null)) {
+        dateFormatter.parse(s);
+      }
+      else {
+        val = BaseUtils.getInstantFromString(s, dateFormatter);
+      }
+    }
+    catch (Exception e) {
+      throwExceptionOrSetErrorList("jdoc_err_51", path, errorList);
+      return;
+    }
+
+    // check for min and max date
+    if ((minDate != null) && (minDate.compareTo(val) > 0)) {
+      throwExceptionOrSetErrorList("jdoc_err_78", path, errorList);
+    }
+    if ((maxDate != null) && (maxDate.compareTo(val) < 0)) {
+      throwExceptionOrSetErrorList("jdoc_err_79", path, errorList);
+    }
+  }
+
+  private static void throwExceptionOrSetErrorList(String errorCode, Object path, List<String> errorList) {
+    if (errorList == null) {
+      throw new UnifyException(errorCode, path.toString());
+    }
+    else {
+      String msg = ERRORS_JDOCS.getErrorMessage(errorCode);
+      if (msg.isEmpty() == false) {
+        msg = MessageFormat.format(msg, path.toString());
+      }
+      errorList.add(msg);
+    }
+  }
+
+}
@@ -22,6 +22,10 @@ import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 
 import static com.fasterxml.jackson.core.StreamReadConstraints.DEFAULT_MAX_STRING_LEN;
 
@@ -30,6 +34,8 @@ public class Initializer {
   private Boolean allowComments = null;
   private Boolean stripTrailingBigdecimalZeroes = null;
   private Integer maxStringLength = null;
+  private Integer pathCacheSize = null;
+  private CONSTS_JDOCS.BINARY_FORMAT binaryFormat = null;
 
   public Initializer() {
     // nothing to do
@@ -50,6 +56,16 @@ public class Initializer {
     return this;
   }
 
+  public Initializer pathCacheSize(int pathCacheSize) {
+    this.pathCacheSize = pathCacheSize;
+    return this;
+  }
+
+  public Initializer binaryFormat(CONSTS_JDOCS.BINARY_FORMAT binaryFormat) {
+    this.binaryFormat = binaryFormat;
+    return this;
+  }
+
   void initialize() {
     if (JDocument.isInitialized == true) {
       throw new UnifyException("jdoc_err_82");
@@ -79,12 +95,25 @@ public class Initializer {
       JDocument.maxStringLength = maxStringLength;
     }
 
+    if (pathCacheSize == null) {
+      // default value
+      JDocument.pathCache = new PathCache(CONSTS_JDOCS.DEFAULT_PATH_CACHE_SIZE);
+    }
+    else if (pathCacheSize <= 0) {
+      // path caching is turned off
+      JDocument.pathCache = null;
+    }
+    else {
+      JDocument.pathCache = new PathCache(pathCacheSize);
+    }
+
     if (JDocument.objectMapper == null) {
       JDocument.objectMapper = new ObjectMapper().configure(JsonParser.Feature.ALLOW_COMMENTS, JDocument.allowComments)
               .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, JDocument.stripTrailingBigdecimalZeroes);
       JsonFactory jsonFactory = JDocument.objectMapper.getFactory();
       StreamReadConstraints src = StreamReadConstraints.builder().maxStringLength(JDocument.maxStringLength).build();
       jsonFactory.setStreamReadConstraints(src);
+      JDocument.binaryMapper = getBinaryMapper((binaryFormat == null) ? CONSTS_JDOCS.BINARY_FORMAT.SMILE : binaryFormat, src);
     }
     else {
       throw new UnifyException("jdoc_err_83");
@@ -102,4 +131,26 @@ public class Initializer {
     JDocument.isInitialized = true;
   }
 
+  private static ObjectMapper getBinaryMapper(CONSTS_JDOCS.BINARY_FORMAT binaryFormat, StreamReadConstraints src) {
+    JsonFactory factory = null;
+    switch (binaryFormat) {
+      case CBOR:
+        // names and string values that are repeated are written as references to their first occurrence
+        factory = CBORFactory.builder()
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .streamReadConstraints(src)
+                .build();
+        break;
+
+      default:
+        factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .streamReadConstraints(src)
+                .build();
+        break;
+    }
+    return new ObjectMapper(factory).configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, JDocument.stripTrailingBigdecimalZeroes);
+  }
+
 }
@@ -15,31 +15,34 @@
 package com.americanexpress.unify.jdocs;
 
 import com.americanexpress.unify.base.BaseUtils;
-import com.americanexpress.unify.base.CONSTS_BASE;
 import com.americanexpress.unify.base.ERRORS_BASE;
 import com.americanexpress.unify.base.UnifyException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.*;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import io.vavr.Tuple2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.math.BigDecimal;
-import java.text.MessageFormat;
-import java.time.Instant;
-import java.time.format.DateTimeFormatter;
-import java.time.format.ResolverStyle;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import static com.americanexpress.unify.jdocs.DataType.DATE;
 import static com.americanexpress.unify.jdocs.DataType.STRING;
 
 /**
@@ -56,11 +59,8 @@ public class JDocument implements Document {
   // a map to store the doc models in use. In the future, we could use an ExpiryMap
   private static Map<String, Document> docModels = new ConcurrentHashMap<>();
 
-  // for each model document, store a map of the constraint string and the corresponding JsonNode
-  private static Map<String, JsonNode> docModelPaths = new ConcurrentHashMap<>();
-
-  // for each regular expression pattern, store the compiled pattern
-  private static Map<String, Pattern> compiledPatterns = new ConcurrentHashMap<>();
+  // for each model document, the tree of model nodes against which the paths of typed documents are resolved
+  private static Map<String, ModelNode> docModelNodes = new ConcurrentHashMap<>();
 
   static boolean isInitialized = false;
 
@@ -68,8 +68,12 @@ public class JDocument implements Document {
   static boolean allowComments;
   static boolean stripTrailingBigdecimalZeroes;
   static int maxStringLength;
+  // cache of parsed static paths, null if path caching has been turned off
+  static PathCache pathCache = null;
   // one and only one object mapper -> object mappers are thread safe!!!
   static ObjectMapper objectMapper = null;
+  // the object mapper of the binary format in which documents are read and written
+  static ObjectMapper binaryMapper = null;
 
   // configuration fields that can be changed any time through the configurator
   // one and only object writer - is volatile as the configurator can create a new instance when a specific property is changed
@@ -80,6 +84,10 @@ public class JDocument implements Document {
   static volatile Boolean ignoreDocTypePrefixForBaseDocs = null;
   static volatile Boolean deleteEmptyObject = null;
   static volatile Boolean deleteEmptyArray = null;
+  // containers with more elements or fields than this are validated in parallel, 0 if parallel validation is off
+  static volatile int parallelValidationThreshold = 0;
+  // true if the compact serialized form of documents created from now on is cached between writes
+  static volatile boolean cacheSerializedForm = false;
 
   // document specific properties start ********
   // default validation override
@@ -96,6 +104,22 @@ public class JDocument implements Document {
   // root json node of the document
   private JsonNode rootNode = null;
 
+  // hash indexes of the arrays of the document that are searched using name=value filters. Shared with the views
+  // of the document as they are backed by the same nodes
+  private ArrayIndexCache arrayIndexes = new ArrayIndexCache();
+
+  // true if the document is a view of a part of another document and shares its nodes with that document
+  private boolean isView = false;
+
+  // the root of the model tree for a document that is a part of a typed document, null otherwise
+  private ModelNode partModelNode = null;
+
+  // the log of the changes made to the nodes while the writes of an edit are applied, null otherwise
+  private EditLog editLog = null;
+
+  // the cached compact serialized form of the document, null if the serialized form is not cached
+  private SerializedForm serializedForm = (cacheSerializedForm == true) ? new SerializedForm() : null;
+
   static {
     ERRORS_BASE.load();
     ERRORS_JDOCS.load();
@@ -112,6 +136,18 @@ public class JDocument implements Document {
     configurator.configure();
   }
 
+  /**
+   * Compiles a path for repeated use. The path may contain % placeholders for array indexes and array filter
+   * values whose values are supplied at the time of access
+   *
+   * @param path the path
+   * @return the compiled path
+   * @throws UnifyException If the path is invalid or if a % placeholder is used in any other position
+   */
+  public static CompiledPath compile(String path) {
+    return new CompiledPath(path);
+  }
+
   /**
    * Gets the default validation type for the JDocument class.
    *
@@ -143,6 +179,11 @@ public class JDocument implements Document {
     }
   }
 
+  // constructs a document on a node that is not copied
+  private JDocument(JsonNode rootNode) {
+    this.rootNode = rootNode;
+  }
+
   /**
    * Constructs a JDocument from the given JSON string.
    *
@@ -179,28 +220,346 @@ public class JDocument implements Document {
   }
 
   private void init1(String type, String json, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
+    String json1 = (json == null) ? "{}" : json;
+    init1(type, () -> objectMapper.createParser(json1), json1.length(), validationType);
+  }
+
+  // the size is the length of the input or -1 if it is not known
+  private void init1(String type, JsonSource source, long size, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
     if ((type == null) || (type.isEmpty())) {
       throw new UnifyException("jdoc_err_56");
     }
 
     this.validationType = validationType;
 
-    try {
+    try (JsonParser parser = source.createParser()) {
       this.docType = type;
-      if (json == null) {
-        rootNode = objectMapper.readTree("{}");
+
+      if (validationType == CONSTS_JDOCS.VALIDATION_TYPE.ONLY_AT_READ_WRITE) {
+        rootNode = readTree(parser);
+      }
+      else if (isParallelValidation(size) == true) {
+        // the tree is built first so that its large containers can be validated in parallel
+        rootNode = readTree(parser);
+        validate(type, validationType);
       }
       else {
-        rootNode = objectMapper.readTree(json);
+        // the document is validated while it is being read
+        List<String> errorList = new ArrayList<>();
+        rootNode = readTree(parser, type, validationType, errorList);
+        processErrors(errorList);
+        isValidated = true;
       }
+    }
+    catch (IOException ex) {
+      throw new UnifyException("jdoc_err_1", ex);
+    }
+  }
 
-      if (validationType != CONSTS_JDOCS.VALIDATION_TYPE.ONLY_AT_READ_WRITE) {
-        validate(type, validationType);
+  // a document is only validated in parallel if it is large enough to have a container larger than the threshold
+  // and for the validation to be worth splitting. Otherwise, and if its size is not known, the document is validated
+  // while it is being read which does not need the tree to be traversed again
+  static boolean isParallelValidation(long size) {
+    int threshold = parallelValidationThreshold;
+    if ((threshold <= 0) || (size < 0)) {
+      return false;
+    }
+
+    // each element or field of a container takes at least two chars or bytes of the input
+    return (size >= Math.max(CONSTS_JDOCS.MIN_PARALLEL_VALIDATION_SIZE, 2L * threshold));
+  }
+
+  private static JsonNode readTree(JsonParser parser) throws IOException {
+    JsonNode node = objectMapper.readTree(parser);
+    return (node == null) ? MissingNode.getInstance() : node;
+  }
+
+  // builds the tree of the json while validating it against the model of the type
+  private static JsonNode readTree(JsonParser parser, String type, CONSTS_JDOCS.VALIDATION_TYPE validationType, List<String> errorList) throws IOException {
+    ModelNode root = getModelNode(type);
+    try (JsonParser parser1 = new ValidatingParser(parser, root, type, validationType, errorList, false)) {
+      return readTree(parser1);
+    }
+  }
+
+  // the source of the json of a document which is read using a parser created on it
+  private interface JsonSource {
+
+    JsonParser createParser() throws IOException;
+
+  }
+
+  private static JDocument read(JsonSource source) {
+    try (JsonParser parser = source.createParser()) {
+      return new JDocument(readTree(parser));
+    }
+    catch (IOException ex) {
+      throw new UnifyException("jdoc_err_1", ex);
+    }
+  }
+
+  private static JDocument read(String type, JsonSource source, long size, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
+    JDocument d = new JDocument((JsonNode)null);
+    d.init1(type, source, size, validationType);
+    return d;
+  }
+
+  // the bytes of the buffer from its position to its limit. The position of the buffer is not changed
+  private static JsonSource getSource(ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      return () -> objectMapper.createParser(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+    return () -> objectMapper.createParser(new ByteBufferBackedInputStream(buffer.duplicate()));
+  }
+
+  /**
+   * Constructs a JDocument from JSON encoded in UTF-8, UTF-16 or UTF-32 in the given bytes. The bytes are read
+   * directly without first being decoded into a string
+   *
+   * @param bytes  The bytes containing the JSON
+   * @param offset The offset of the JSON in the bytes
+   * @param length The length of the JSON
+   * @return The document
+   */
+  public static JDocument fromBytes(byte[] bytes, int offset, int length) {
+    return read(() -> objectMapper.createParser(bytes, offset, length));
+  }
+
+  /**
+   * Constructs a typed JDocument from JSON in the given bytes using the default validation type
+   *
+   * @param type   The type of the document
+   * @param bytes  The bytes containing the JSON
+   * @param offset The offset of the JSON in the bytes
+   * @param length The length of the JSON
+   * @return The document
+   */
+  public static JDocument fromBytes(String type, byte[] bytes, int offset, int length) {
+    return fromBytes(type, bytes, offset, length, defaultValidationType);
+  }
+
+  /**
+   * Constructs a typed JDocument from JSON in the given bytes
+   *
+   * @param type           The type of the document
+   * @param bytes          The bytes containing the JSON
+   * @param offset         The offset of the JSON in the bytes
+   * @param length         The length of the JSON
+   * @param validationType The validation type to use
+   * @return The document
+   */
+  public static JDocument fromBytes(String type, byte[] bytes, int offset, int length, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
+    return read(type, () -> objectMapper.createParser(bytes, offset, length), length, validationType);
+  }
+
+  /**
+   * Constructs a JDocument from JSON read from the given stream. The stream is read till the end of the JSON and
+   * is closed once the document has been read
+   *
+   * @param is The stream from which the JSON is read
+   * @return The document
+   */
+  public static JDocument fromStream(InputStream is) {
+    return read(() -> objectMapper.createParser(is));
+  }
+
+  /**
+   * Constructs a typed JDocument from JSON read from the given stream using the default validation type
+   *
+   * @param type The type of the document
+   * @param is   The stream from which the JSON is read
+   * @return The document
+   */
+  public static JDocument fromStream(String type, InputStream is) {
+    return fromStream(type, is, defaultValidationType);
+  }
+
+  /**
+   * Constructs a typed JDocument from JSON read from the given stream. The stream is closed once the document has
+   * been read
+   *
+   * @param type           The type of the document
+   * @param is             The stream from which the JSON is read
+   * @param validationType The validation type to use
+   * @return The document
+   */
+  public static JDocument fromStream(String type, InputStream is, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
+    return read(type, () -> objectMapper.createParser(is), -1, validationType);
+  }
+
+  /**
+   * Constructs a JDocument from JSON in the bytes of the given buffer from its position to its limit. The position
+   * of the buffer is not changed
+   *
+   * @param buffer The buffer containing the JSON
+   * @return The document
+   */
+  public static JDocument fromByteBuffer(ByteBuffer buffer) {
+    return read(getSource(buffer));
+  }
+
+  /**
+   * Constructs a typed JDocument from JSON in the given buffer using the default validation type
+   *
+   * @param type   The type of the document
+   * @param buffer The buffer containing the JSON
+   * @return The document
+   */
+  public static JDocument fromByteBuffer(String type, ByteBuffer buffer) {
+    return fromByteBuffer(type, buffer, defaultValidationType);
+  }
+
+  /**
+   * Constructs a typed JDocument from JSON in the given buffer
+   *
+   * @param type           The type of the document
+   * @param buffer         The buffer containing the JSON
+   * @param validationType The validation type to use
+   * @return The document
+   */
+  public static JDocument fromByteBuffer(String type, ByteBuffer buffer, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
+    return read(type, getSource(buffer), buffer.remaining(), validationType);
+  }
+
+  /**
+   * Constructs a JDocument from the given bytes in the binary format set at the time of initialization
+   *
+   * @param bytes  The bytes containing the document
+   * @param offset The offset of the document in the bytes
+   * @param length The length of the document
+   * @return The document
+   */
+  public static JDocument fromBinary(byte[] bytes, int offset, int length) {
+    return read(() -> binaryMapper.createParser(bytes, offset, length));
+  }
+
+  /**
+   * Constructs a typed JDocument from the given bytes in the binary format using the default validation type
+   *
+   * @param type   The type of the document
+   * @param bytes  The bytes containing the document
+   * @param offset The offset of the document in the bytes
+   * @param length The length of the document
+   * @return The document
+   */
+  public static JDocument fromBinary(String type, byte[] bytes, int offset, int length) {
+    return fromBinary(type, bytes, offset, length, defaultValidationType);
+  }
+
+  /**
+   * Constructs a typed JDocument from the given bytes in the binary format. The document is validated in the same
+   * way as one constructed from JSON
+   *
+   * @param type           The type of the document
+   * @param bytes          The bytes containing the document
+   * @param offset         The offset of the document in the bytes
+   * @param length         The length of the document
+   * @param validationType The validation type to use
+   * @return The document
+   */
+  public static JDocument fromBinary(String type, byte[] bytes, int offset, int length, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
+    return read(type, () -> binaryMapper.createParser(bytes, offset, length), length, validationType);
+  }
+
+  /**
+   * Constructs a JDocument read in the binary format from the given stream. The stream is closed once the document
+   * has been read
+   *
+   * @param is The stream from which the document is read
+   * @return The document
+   */
+  public static JDocument fromBinaryStream(InputStream is) {
+    return read(() -> binaryMapper.createParser(is));
+  }
+
+  /**
+   * Constructs a typed JDocument read in the binary format from the given stream using the default validation type
+   *
+   * @param type The type of the document
+   * @param is   The stream from which the document is read
+   * @return The document
+   */
+  public static JDocument fromBinaryStream(String type, InputStream is) {
+    return fromBinaryStream(type, is, defaultValidationType);
+  }
+
+  /**
+   * Constructs a typed JDocument read in the binary format from the given stream. The stream is closed once the
+   * document has been read
+   *
+   * @param type           The type of the document
+   * @param is             The stream from which the document is read
+   * @param validationType The validation type to use
+   * @return The document
+   */
+  public static JDocument fromBinaryStream(String type, InputStream is, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
+    return read(type, () -> binaryMapper.createParser(is), -1, validationType);
+  }
+
+  /**
+   * Constructs a JDocument from JSON read from the given reader. The reader is closed once the document has been read
+   *
+   * @param reader The reader from which the JSON is read
+   * @return The document
+   */
+  public static JDocument fromReader(Reader reader) {
+    return read(() -> objectMapper.createParser(reader));
+  }
+
+  /**
+   * Constructs a typed JDocument from JSON read from the given reader using the default validation type
+   *
+   * @param type   The type of the document
+   * @param reader The reader from which the JSON is read
+   * @return The document
+   */
+  public static JDocument fromReader(String type, Reader reader) {
+    return fromReader(type, reader, defaultValidationType);
+  }
+
+  /**
+   * Constructs a typed JDocument from JSON read from the given reader. The reader is closed once the document has
+   * been read
+   *
+   * @param type           The type of the document
+   * @param reader         The reader from which the JSON is read
+   * @param validationType The validation type to use
+   * @return The document
+   */
+  public static JDocument fromReader(String type, Reader reader, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
+    return read(type, () -> objectMapper.createParser(reader), -1, validationType);
+  }
+
+  /**
+   * Validates a JSON string against the model of the specified type while reading it and without building
+   * a document out of it. Useful for rejecting invalid payloads before they are loaded.
+   *
+   * @param type           The type of the document.
+   * @param json           The JSON string to validate.
+   * @param validationType The validation type to use. ONLY_AT_READ_WRITE results in no validation.
+   * @param failFast       If true, reading stops at the first validation error else all errors are reported
+   * @throws UnifyException jdoc_err_28 with the validation errors or jdoc_err_1 if the JSON is not well-formed
+   */
+  public static void validateJson(String type, String json, CONSTS_JDOCS.VALIDATION_TYPE validationType, boolean failFast) {
+    if ((type == null) || (type.isEmpty())) {
+      throw new UnifyException("jdoc_err_56");
+    }
+
+    if (validationType == CONSTS_JDOCS.VALIDATION_TYPE.ONLY_AT_READ_WRITE) {
+      return;
+    }
+
+    List<String> errorList = new ArrayList<>();
+    ModelNode root = getModelNode(type);
+    try (JsonParser parser = new ValidatingParser(objectMapper.createParser(json), root, type, validationType, errorList, failFast)) {
+      while (parser.nextToken() != null) {
+        // the parser validates the tokens as they are read
       }
     }
     catch (IOException ex) {
       throw new UnifyException("jdoc_err_1", ex);
     }
+    processErrors(errorList);
   }
 
   /**
@@ -226,16 +585,9 @@ public class JDocument implements Document {
       throw new UnifyException("jdoc_err_60");
     }
     path = getStaticPath(path, vargs);
-    validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
-    String modelPath = getModelPath(path);
-    checkPathExistsInModel(modelPath, docType);
-    String format = getFieldFormat(path, modelPath, false, docType);
-    JsonNode node = getFormatNode(docType, path, format);
-    String type = node.get(CONSTS_JDOCS.FORMAT_FIELDS.TYPE).asText();
-    if (type == null) {
-      throw new UnifyException("jdoc_err_61", modelPath);
-    }
-    return DataType.valueOf(type.toUpperCase());
+    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
+    ModelNode mn = checkPathExistsInModel(tokenList, docType);
+    return getFieldValidator(path, mn, docType).getDataType();
   }
 
   /**
@@ -251,16 +603,9 @@ public class JDocument implements Document {
       throw new UnifyException("jdoc_err_60");
     }
     path = getStaticPath(path, vargs);
-    validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
-    String modelPath = getModelPath(path);
-    checkPathExistsInModel(modelPath, docType);
-    String format = getFieldFormat(path, modelPath, true, docType);
-    JsonNode node = getFormatNode(docType, path, format);
-    String type = node.get(CONSTS_JDOCS.FORMAT_FIELDS.TYPE).asText();
-    if (type == null) {
-      throw new UnifyException("jdoc_err_61", modelPath);
-    }
-    return DataType.valueOf(type.toUpperCase());
+    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
+    ModelNode mn = checkPathExistsInModel(tokenList, docType);
+    return getFieldValidator(path, mn, docType).getDataType();
   }
 
   /**
@@ -310,6 +655,7 @@ public class JDocument implements Document {
       validate(type, validationType);
     }
     this.docType = type;
+    invalidateSerializedForm();
   }
 
   // Base document methods
@@ -319,20 +665,26 @@ public class JDocument implements Document {
    */
   @Override
   public void empty() {
+    arrayIndexes.clear();
     try {
+      if (isView == true) {
+        // the node is shared with the document of which this is a view and so is emptied in place
+        ((ContainerNode)rootNode).removeAll();
+        return;
+      }
+
       rootNode = objectMapper.readTree("{}");
     }
     catch (IOException ex) {
       throw new UnifyException("jdoc_err_1", ex);
     }
+    finally {
+      invalidateSerializedForm();
+    }
   }
 
   private void validate(String type, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
-    Document md = docModels.get(type);
-    if (md == null) {
-      throw new UnifyException("jdoc_err_29", type);
-    }
-    List<String> errorList = validate(((JDocument)md).rootNode, rootNode, "$.", type, validationType);
+    List<String> errorList = validate(getRootModelNode(type), rootNode, "$.", type, validationType);
     processErrors(errorList);
     if (isTyped() == true) {
       isValidated = true;
@@ -340,26 +692,16 @@ public class JDocument implements Document {
   }
 
   private JsonNode getMatchingArrayElementByField(ArrayNode node, String field, String value) {
-    JsonNode matchedNode = null;
-
-    int size = node.size();
-    for (int i = 0; i < size; i++) {
-      JsonNode elementNode = node.get(i);
-      JsonNode fieldNode = elementNode.get(field);
-      if (fieldNode != null) {
-        String fieldValue = fieldNode.asText();
-        if (fieldValue.equals(value)) {
-          matchedNode = elementNode;
-          break;
-        }
-      }
-    }
-
-    return matchedNode;
+    int index = getMatchingArrayElementIndex(node, field, value);
+    return (index == -1) ? null : node.get(index);
   }
 
   private int getMatchingArrayElementIndex(ArrayNode node, String field, String value) {
     int size = node.size();
+    if (size >= ArrayIndexCache.MIN_ARRAY_SIZE) {
+      return arrayIndexes.indexOf(node, field, value);
+    }
+
     int index = -1;
     for (int i = 0; i < size; i++) {
       JsonNode elementNode = node.get(i);
@@ -435,7 +777,7 @@ public class JDocument implements Document {
 
       if (isTyped() == true) {
         validateFilterNames(path, tokens, docType);
-        checkPathExistsInModel(getModelPath(path), docType);
+        checkPathExistsInModel(tokens, docType);
       }
 
       String s = replaceNameValuePairsWithIndexes(tokens);
@@ -472,7 +814,7 @@ public class JDocument implements Document {
     }
 
     if (isTyped()) {
-      JDocument td = (JDocument)d;
+      JDocument td = toJDocument(d);
       if (docType.equals(td.docType) == false) {
         throw new UnifyException("jdoc_err_55");
       }
@@ -481,16 +823,25 @@ public class JDocument implements Document {
       deletePaths(pathsToDelete);
 
       // now merge
-      JsonNode modelNode = null;
-      JDocument bd = (JDocument)getDocumentModel1(td.getType());
-      modelNode = bd.rootNode;
-      merge(rootNode, ((JDocument)d).rootNode, modelNode);
+      ModelNode modelNode = getRootModelNode(td.getType());
+      arrayIndexes.clear();
+      try {
+        merge(rootNode, td.rootNode, modelNode);
+      }
+      finally {
+        invalidateSerializedForm();
+      }
     }
     else {
       throw new UnifyException("jdoc_err_2");
     }
   }
 
+  // the JDocument of a document passed in which may be a lazy document
+  private static JDocument toJDocument(Document d) {
+    return (d instanceof LazyDocument) ? ((LazyDocument)d).getDocument() : (JDocument)d;
+  }
+
   private JsonNode getJsonNode(List<Token> tokenList) {
     JsonNode node = null;
 
@@ -525,7 +876,7 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.PATH_EXISTS, PathAccessType.OBJECT);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      checkPathExistsInModel(getModelPath(path), docType);
+      checkPathExistsInModel(tokenList, docType);
     }
 
     JsonNode node = getJsonNode(tokenList);
@@ -551,7 +902,7 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.PATH_EXISTS, PathAccessType.OBJECT);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      checkPathExistsInModel(getModelPath(path), docType);
+      checkPathExistsInModel(tokenList, docType);
     }
 
     JsonNode node = getJsonNode(tokenList);
@@ -582,7 +933,7 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.PATH_EXISTS, PathAccessType.OBJECT);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      checkPathExistsInModel(getModelPath(path), docType);
+      checkPathExistsInModel(tokenList, docType);
     }
 
     JsonNode node = getJsonNode(tokenList);
@@ -601,6 +952,48 @@ public class JDocument implements Document {
     return d;
   }
 
+  /**
+   * Gets a view of the object or array at the specified path. Unlike getDocument, the view is backed by the nodes of
+   * this document and nothing is copied
+   *
+   * @param path       The path of the object or array
+   * @param isReadOnly If true the view cannot be written to else writes to the view are made in this document
+   * @param vargs      Optional arguments for the path.
+   * @return The view of the object or array at the path
+   */
+  @Override
+  public Document getDocumentView(String path, boolean isReadOnly, String... vargs) {
+    path = getStaticPath(path, vargs);
+    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.PATH_EXISTS, PathAccessType.OBJECT);
+    ModelNode mn = null;
+    if (isTyped()) {
+      validateFilterNames(path, tokenList, docType);
+      mn = tokenList.isEmpty() ? getRootModelNode(docType) : checkPathExistsInModel(tokenList, docType);
+    }
+
+    JsonNode node = tokenList.isEmpty() ? rootNode : getJsonNode(tokenList);
+
+    if (node == null) {
+      throw new UnifyException("jdoc_err_68", path);
+    }
+
+    if (node.isContainerNode() == false) {
+      throw new UnifyException("jdoc_err_69", path);
+    }
+
+    JDocument d = new JDocument(node);
+    d.isView = true;
+    d.arrayIndexes = arrayIndexes;
+    d.serializedForm = (serializedForm == null) ? null : serializedForm.getView();
+    if (isTyped()) {
+      // the paths of the view are validated against the part of the model at the path
+      copyInstanceFields(d, docType, validationType, isValidated);
+      d.partModelNode = mn.getAsRoot();
+    }
+
+    return (isReadOnly == true) ? new ReadOnlyDocument(d) : d;
+  }
+
   protected JsonNode getJsonNode(String path) {
     List<Token> tokenList = parse(path);
     JsonNode node = traverse(rootNode, tokenList, false);
@@ -650,27 +1043,9 @@ public class JDocument implements Document {
       throw new UnifyException("jdoc_err_5", path);
     }
 
-    ArrayNode arrayNode = (ArrayNode)node;
-
     // here look the the value in the elements
-    int ret = -1;
-    int index = -1;
-    Iterator<JsonNode> iter = arrayNode.elements();
-    while (iter.hasNext()) {
-      index++;
-      node = iter.next();
-      JsonNode node1 = node.get(((ArrayToken)lastToken).getFilter().getField());
-      if (node1 != null) {
-        // compare value here
-        String value = node1.asText();
-        if (value.equals(((ArrayToken)lastToken).getFilter().getValue())) {
-          ret = index;
-          break;
-        }
-      }
-    }
-
-    return ret;
+    ArrayToken.Filter filter = ((ArrayToken)lastToken).getFilter();
+    return getMatchingArrayElementIndex((ArrayNode)node, filter.getField(), filter.getValue());
   }
 
   /**
@@ -687,7 +1062,7 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET_ARRAY_INDEX, PathAccessType.VALUE);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      checkPathExistsInModel(getModelPath(path), docType);
+      checkPathExistsInModel(tokenList, docType);
     }
     return getArrayIndex(path, tokenList);
   }
@@ -720,11 +1095,94 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET_ARRAY_SIZE, PathAccessType.VALUE);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      checkPathExistsInModel(getModelPath(path), docType);
+      checkPathExistsInModel(tokenList, docType);
     }
     return getArraySize(path, tokenList);
   }
 
+  /**
+   * Gets a cursor over the elements of the array at the specified path
+   *
+   * @param path  the path of the array ending in []
+   * @param vargs Optional arguments for the path.
+   * @return the cursor
+   */
+  @Override
+  public ArrayCursor getArrayCursor(String path, String... vargs) {
+    path = getStaticPath(path, vargs);
+    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET_ARRAY_SIZE, PathAccessType.VALUE);
+    ModelNode mn = null;
+    if (isTyped()) {
+      validateFilterNames(path, tokenList, docType);
+      mn = checkPathExistsInModel(tokenList, docType);
+    }
+
+    JsonNode node = traverse(rootNode, tokenList, false);
+    if ((node != null) && (node.getNodeType() != JsonNodeType.ARRAY)) {
+      throw new UnifyException("jdoc_err_6", path);
+    }
+
+    // as for the size, an array that is not present in the document has no elements
+    return new ArrayCursor(this, (ArrayNode)node, mn, path.substring(0, path.length() - 2), getModelPath(tokenList), false);
+  }
+
+  // the path is relative to the current element of the cursor
+  Object getElementValue(ArrayCursor cursor, String path, Class clazz, String... vargs) {
+    path = getStaticPath1(path, vargs);
+    String fullPath = cursor.getElementPath() + "." + path;
+    List<Token> tokenList = parse("$." + path);
+    validatePath1(fullPath, CONSTS_JDOCS.API.GET, tokenList, PathAccessType.VALUE);
+    ModelNode mn = checkPathInModel(cursor, fullPath, tokenList);
+    Tuple2<Object, Boolean> tuple2 = getValue(cursor.getElement(), fullPath, clazz, tokenList);
+    Object value = tuple2._1;
+    boolean isPathPresent = tuple2._2;
+    if ((isPathPresent == true) && (isTyped() == true) && (isValidated == false) && (validationType == CONSTS_JDOCS.VALIDATION_TYPE.ONLY_AT_READ_WRITE)) {
+      getFieldValidator(fullPath, mn, docType).validate(value, getModelPath(cursor, tokenList), null);
+    }
+    return value;
+  }
+
+  // the path is relative to the current element of the cursor
+  boolean elementPathExists(ArrayCursor cursor, String path, String... vargs) {
+    path = getStaticPath1(path, vargs);
+    String fullPath = cursor.getElementPath() + "." + path;
+    List<Token> tokenList = parse("$." + path);
+    validatePath1(fullPath, CONSTS_JDOCS.API.PATH_EXISTS, tokenList, PathAccessType.OBJECT);
+    checkPathInModel(cursor, fullPath, tokenList);
+    return (traverse(cursor.getElement(), tokenList, false, false) != null);
+  }
+
+  // the path is relative to the current element of the cursor
+  void setElementValue(ArrayCursor cursor, String path, Object value, String... vargs) {
+    path = getStaticPath1(path, vargs);
+    String fullPath = cursor.getElementPath() + "." + path;
+    List<Token> tokenList = parse("$." + path);
+    validatePath1(fullPath, CONSTS_JDOCS.API.SET, tokenList, PathAccessType.VALUE);
+    if (isTyped()) {
+      validateFilterNames(fullPath, tokenList, cursor.getModel(), docType);
+      ModelNode mn = cursor.getModel().resolve(tokenList);
+      getFieldValidator(fullPath, mn, docType).validate(value, getModelPath(cursor, tokenList), null);
+    }
+    setValue(cursor.getElement(), cursor.getModel(), fullPath, tokenList, value, docType);
+  }
+
+  private ModelNode checkPathInModel(ArrayCursor cursor, String path, List<Token> tokenList) {
+    ModelNode mn = null;
+    if (isTyped()) {
+      validateFilterNames(path, tokenList, cursor.getModel(), docType);
+      mn = cursor.getModel().resolve(tokenList);
+      if (mn == null) {
+        throw new UnifyException("jdoc_err_38", docType, getModelPath(cursor, tokenList));
+      }
+    }
+    return mn;
+  }
+
+  // the model path of a path relative to an element of the array of the cursor
+  private static String getModelPath(ArrayCursor cursor, List<Token> tokenList) {
+    return cursor.getModelPath() + getModelPath(tokenList).substring(1);
+  }
+
   /**
    * Gets the JSON string representation of the document.
    *
@@ -735,7 +1193,7 @@ public class JDocument implements Document {
     String s = null;
 
     try {
-      s = objectMapper.writeValueAsString(rootNode);
+      s = (serializedForm == null) ? objectMapper.writeValueAsString(rootNode) : serializedForm.getJson(rootNode);
     }
     catch (JsonProcessingException ex) {
       throw new UnifyException("jdoc_err_1", ex);
@@ -743,6 +1201,14 @@ public class JDocument implements Document {
     return s;
   }
 
+  // called after the nodes of the document have been changed, also when a change fails part way, so that a
+  // serialized form created while the nodes were being changed is not taken to be current
+  private void invalidateSerializedForm() {
+    if (serializedForm != null) {
+      serializedForm.invalidate();
+    }
+  }
+
   /**
    * Gets the pretty-printed JSON string representation of the document.
    *
@@ -762,9 +1228,167 @@ public class JDocument implements Document {
     return s;
   }
 
-  private JsonNode traverseObject(JsonNode node, Token token, boolean createNode) {
-    JsonNode retNode = null;
-    JsonNode objectNode = node.get(token.getField());
+  @Override
+  public void writeTo(OutputStream os) {
+    writeTo(os, false);
+  }
+
+  @Override
+  public void writeTo(OutputStream os, boolean prettyPrint) {
+    if ((prettyPrint == false) && (serializedForm != null)) {
+      try {
+        os.write(serializedForm.getBytes(rootNode));
+        os.flush();
+        return;
+      }
+      catch (IOException ex) {
+        throw new UnifyException("jdoc_err_1", ex);
+      }
+    }
+
+    ObjectWriter writer = getObjectWriter(prettyPrint);
+    try (JsonGenerator gen = writer.createGenerator(os)) {
+      write(writer, gen);
+    }
+    catch (IOException ex) {
+      throw new UnifyException("jdoc_err_1", ex);
+    }
+  }
+
+  @Override
+  public void writeTo(Writer writer) {
+    writeTo(writer, false);
+  }
+
+  @Override
+  public void writeTo(Writer writer, boolean prettyPrint) {
+    if ((prettyPrint == false) && (serializedForm != null)) {
+      try {
+        writer.write(getJson());
+        writer.flush();
+        return;
+      }
+      catch (IOException ex) {
+        throw new UnifyException("jdoc_err_1", ex);
+      }
+    }
+
+    ObjectWriter writer1 = getObjectWriter(prettyPrint);
+    try (JsonGenerator gen = writer1.createGenerator(writer)) {
+      write(writer1, gen);
+    }
+    catch (IOException ex) {
+      throw new UnifyException("jdoc_err_1", ex);
+    }
+  }
+
+  @Override
+  public void writeTo(ByteBuffer buffer) {
+    writeTo(buffer, false);
+  }
+
+  @Override
+  public void writeTo(ByteBuffer buffer, boolean prettyPrint) {
+    int position = buffer.position();
+    ByteBufferOutputStream os = new ByteBufferOutputStream(buffer);
+    try {
+      writeTo(os, prettyPrint);
+    }
+    catch (UnifyException ex) {
+      buffer.position(position);
+      if (os.isOverflow == true) {
+        throw new UnifyException("jdoc_err_93", String.valueOf(buffer.remaining()));
+      }
+      throw ex;
+    }
+  }
+
+  @Override
+  public byte[] toBytes() {
+    return toBytes(false);
+  }
+
+  @Override
+  public byte[] toBytes(boolean prettyPrint) {
+    try {
+      if ((prettyPrint == false) && (serializedForm != null)) {
+        // the cached bytes are copied as they may be changed by the caller
+        return serializedForm.getBytes(rootNode).clone();
+      }
+      return getObjectWriter(prettyPrint).writeValueAsBytes(rootNode);
+    }
+    catch (JsonProcessingException ex) {
+      throw new UnifyException("jdoc_err_1", ex);
+    }
+  }
+
+  @Override
+  public byte[] toBinary() {
+    try {
+      return binaryMapper.writeValueAsBytes(rootNode);
+    }
+    catch (JsonProcessingException ex) {
+      throw new UnifyException("jdoc_err_1", ex);
+    }
+  }
+
+  @Override
+  public void writeBinaryTo(OutputStream os) {
+    ObjectWriter writer = binaryMapper.writer();
+    try (JsonGenerator gen = writer.createGenerator(os)) {
+      write(writer, gen);
+    }
+    catch (IOException ex) {
+      throw new UnifyException("jdoc_err_1", ex);
+    }
+  }
+
+  private static ObjectWriter getObjectWriter(boolean prettyPrint) {
+    return (prettyPrint == true) ? objectWriter : objectMapper.writer();
+  }
+
+  // writes the document to a generator on a target of the caller which is flushed but not closed
+  private void write(ObjectWriter writer, JsonGenerator gen) throws IOException {
+    gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    writer.writeValue(gen, rootNode);
+    gen.flush();
+  }
+
+  // writes to a buffer from its position and stops at its limit instead of writing a part of what is given
+  private static final class ByteBufferOutputStream extends OutputStream {
+
+    private final ByteBuffer buffer;
+
+    private boolean isOverflow = false;
+
+    private ByteBufferOutputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      checkRemaining(1);
+      buffer.put((byte)b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int off, int len) throws IOException {
+      checkRemaining(len);
+      buffer.put(bytes, off, len);
+    }
+
+    private void checkRemaining(int len) throws IOException {
+      if (len > buffer.remaining()) {
+        isOverflow = true;
+        throw new IOException("Buffer overflow");
+      }
+    }
+
+  }
+
+  private JsonNode traverseObject(JsonNode node, Token token, boolean createNode) {
+    JsonNode retNode = null;
+    JsonNode objectNode = node.get(token.getField());
 
     while (true) {
       if (objectNode == null) {
@@ -911,42 +1535,41 @@ public class JDocument implements Document {
   private JsonNode traverse(JsonNode rootNode, List<Token> tokenList, boolean createNode, boolean throwException) {
     JsonNode node = rootNode;
 
-    for (Token token : tokenList) {
-      while (true) {
-        // handle object node
-        if (token.isArray() == false) {
-          node = traverseObject(node, token, createNode);
-          break;
-        }
+    // indexed as the token lists are random access and iterating them would create an iterator for every read
+    for (int i = 0; i < tokenList.size(); i++) {
+      node = traverse(node, tokenList.get(i), createNode, throwException);
+      if (node == null) {
+        break;
+      }
+    }
 
-        // handle empty [] array node
-        ArrayToken arrayToken = (ArrayToken)token;
-        if (arrayToken.getFilter().getType() == ArrayToken.FilterType.EMPTY) {
-          node = traverseArrayEmpty(node, arrayToken, createNode);
-          break;
-        }
+    return node;
+  }
 
-        // handle index node
-        if (arrayToken.getFilter().getType() == ArrayToken.FilterType.INDEX) {
-          node = traverseArrayIndex(node, arrayToken, createNode, throwException);
-          break;
-        }
+  // traverses one token of a path from the node
+  private JsonNode traverse(JsonNode node, Token token, boolean createNode, boolean throwException) {
+    // handle object node
+    if (token.isArray() == false) {
+      return traverseObject(node, token, createNode);
+    }
 
-        // handle name value array node
-        if (arrayToken.getFilter().getType() == ArrayToken.FilterType.NAME_VALUE) {
-          node = traverseArrayNameValue(node, arrayToken, createNode);
-          break;
-        }
+    // handle empty [] array node
+    ArrayToken arrayToken = (ArrayToken)token;
+    if (arrayToken.getFilter().getType() == ArrayToken.FilterType.EMPTY) {
+      return traverseArrayEmpty(node, arrayToken, createNode);
+    }
 
-        throw new UnifyException("jdoc_err_9", arrayToken.getFilter().getType().name());
-      }
+    // handle index node
+    if (arrayToken.getFilter().getType() == ArrayToken.FilterType.INDEX) {
+      return traverseArrayIndex(node, arrayToken, createNode, throwException);
+    }
 
-      if (node == null) {
-        break;
-      }
+    // handle name value array node
+    if (arrayToken.getFilter().getType() == ArrayToken.FilterType.NAME_VALUE) {
+      return traverseArrayNameValue(node, arrayToken, createNode);
     }
 
-    return node;
+    throw new UnifyException("jdoc_err_9", arrayToken.getFilter().getType().name());
   }
 
   private JsonNode traverse(JsonNode rootNode, List<Token> tokenList, boolean createNode) {
@@ -984,7 +1607,8 @@ public class JDocument implements Document {
     int size = tokenList.size();
 
     // check that a non leaf token cannot be indefinite
-    for (Token token : tokenList) {
+    for (int i = 0; i < size; i++) {
+      Token token = tokenList.get(i);
       if (token.isArray()) {
         boolean isDefinite = isArrayTokenDefinite((ArrayToken)token);
         if ((isDefinite == false) && (token.isLeaf() == false)) {
@@ -999,6 +1623,7 @@ public class JDocument implements Document {
         Token token = tokenList.get(size - 1);
         switch (api) {
           case GET_ARRAY_SIZE:
+          case SET_ARRAY:
             // leaf token needs to be an array and empty i.e. last two characters should be []
             if (token.isArray() == false) {
               throw new UnifyException("jdoc_err_5", path);
@@ -1058,13 +1683,20 @@ public class JDocument implements Document {
   }
 
   protected Tuple2<Object, Boolean> getValue(String path, Class clazz, List<Token> tokenList) {
-    JsonNode node = null;
+    return getValue(rootNode, path, clazz, tokenList);
+  }
+
+  // the path is traversed starting from the node which is the root node or an element of an array
+  private Tuple2<Object, Boolean> getValue(JsonNode startNode, String path, Class clazz, List<Token> tokenList) {
+    return getValue(traverse(startNode, tokenList, false), path, clazz);
+  }
+
+  // the value of the node the path has been traversed to, null if the path is not present in the document
+  private Tuple2<Object, Boolean> getValue(JsonNode node, String path, Class clazz) {
     Object value = null;
     Boolean isPathPresent = true;
 
     while (true) {
-      node = traverse(rootNode, tokenList, false);
-
       if (node == null) {
         value = null;
         isPathPresent = false;
@@ -1155,6 +1787,12 @@ public class JDocument implements Document {
   }
 
   private void setLeafNode(ObjectNode node, String field, Object value, String path) {
+    // the node may be an element of an array indexed on this field
+    arrayIndexes.invalidate(field);
+    if (editLog != null) {
+      editLog.logPut(node, field);
+    }
+
     if (value instanceof String) {
       node.put(field, (String)value);
     }
@@ -1189,6 +1827,10 @@ public class JDocument implements Document {
 
       if (index < size) {
         // remove and insert
+        arrayIndexes.invalidate(node);
+        if (editLog != null) {
+          editLog.logSet(node, index);
+        }
         node.remove(index);
 
         if (value == null) {
@@ -1220,6 +1862,9 @@ public class JDocument implements Document {
 
       if (index == size) {
         // add at the end
+        if (editLog != null) {
+          editLog.logAdd(node);
+        }
         if (value == null) {
           node.insertNull(index);
           break;
@@ -1257,6 +1902,9 @@ public class JDocument implements Document {
     JsonNode node1 = node.get(field);
 
     if (node1 == null) {
+      if (editLog != null) {
+        editLog.logPut(node, field);
+      }
       node1 = node.putObject(field);
     }
 
@@ -1267,13 +1915,16 @@ public class JDocument implements Document {
     JsonNode node1 = node.get(field);
 
     if (node1 == null) {
+      if (editLog != null) {
+        editLog.logPut(node, field);
+      }
       node1 = node.putArray(field);
     }
 
     return node1;
   }
 
-  private JsonNode setArrayIndexNode(ArrayNode arrayNode, ArrayToken token, String path, String tokenPath, String type) {
+  private JsonNode setArrayIndexNode(ArrayNode arrayNode, ArrayToken token, String path, ModelNode mn, String type) {
     JsonNode filterNode = null;
     boolean found = false;
     String filterField = token.getFilter().getField();
@@ -1292,6 +1943,9 @@ public class JDocument implements Document {
       else {
         if (index == size) {
           // we need to create the object
+          if (editLog != null) {
+            editLog.logAdd(arrayNode);
+          }
           arrayNode.addObject();
         }
 
@@ -1371,11 +2025,14 @@ public class JDocument implements Document {
       }
 
       if (found == false) {
+        if (editLog != null) {
+          editLog.logAdd(arrayNode);
+        }
         filterNode = arrayNode.addObject();
         if (isTyped()) {
           // we need to create the appropriate type of the node and for this we need to get the data type from the model
-          String modelPath = tokenPath + "." + filterField;
-          setFilterFieldNode((ObjectNode)filterNode, filterField, filterValue, path, modelPath, type);
+          ModelNode fmn = (mn == null) ? null : mn.getChild(filterField);
+          setFilterFieldNode((ObjectNode)filterNode, filterField, filterValue, path, fmn, type);
         }
         else {
           ((ObjectNode)filterNode).put(filterField, filterValue);
@@ -1387,57 +2044,69 @@ public class JDocument implements Document {
   }
 
   protected final void setValue(String path, List<Token> tokenList, Object value, String type) {
-    JsonNode node = rootNode;
-    String tokenPath = "$";
+    // the model node corresponding to the node. Only required for typed documents to create filter fields of the right type
+    setValue(rootNode, isTyped() ? getRootModelNode(type) : null, path, tokenList, value, type);
+  }
+
+  // the path is traversed starting from the node which is the root node or an element of an array
+  private void setValue(JsonNode node, ModelNode mn, String path, List<Token> tokenList, Object value, String type) {
 
     // traverse the document. If we find a node corresponding to the path token, and it matches the type
     // i.e. array or object or value node we go inside
     // if we do not find the token in the document, we create it and move inside
     // we do this till we reach the leaf token at which point of time we set the value
-    for (Token token : tokenList) {
-      tokenPath = tokenPath + "." + token.getField();
+    try {
+      for (Token token : tokenList) {
+        if (mn != null) {
+          mn = getChildModelNode(mn, token);
+        }
+        node = setValue(node, mn, token, path, value, type);
+      }
+    }
+    finally {
+      invalidateSerializedForm();
+    }
 
-      while (true) {
-        String field = token.getField();
+  }
 
-        // do array handling
-        if (token.isArray()) {
-          // first get / set the array node under which we need to search for the filter field
-          if (node.getNodeType() != JsonNodeType.ARRAY) {
-            node = setArrayNode((ObjectNode)node, field);
-          }
+  // the model node of the token of a path from the model node of the previous token
+  private static ModelNode getChildModelNode(ModelNode mn, Token token) {
+    return token.isArray() ? mn.getArrayElement(token.getField()) : mn.getChild(token.getField());
+  }
 
-          tokenPath = tokenPath + "[0]";
+  // traverses one token of a path from the node creating the node of the token if it does not exist. The value is
+  // set if the token is the leaf token in which case null is returned
+  private JsonNode setValue(JsonNode node, ModelNode mn, Token token, String path, Object value, String type) {
+    String field = token.getField();
 
-          // get / set the node at which we need to make the change
-          node = setArrayIndexNode((ArrayNode)node, (ArrayToken)token, path, tokenPath, type);
+    // do array handling
+    if (token.isArray()) {
+      // first get / set the array node under which we need to search for the filter field
+      if (node.getNodeType() != JsonNodeType.ARRAY) {
+        node = setArrayNode((ObjectNode)node, field);
+      }
 
-          if (token.isLeaf() == false) {
-            break;
-          }
-        }
+      // get / set the node at which we need to make the change
+      node = setArrayIndexNode((ArrayNode)node, (ArrayToken)token, path, mn, type);
 
-        // leaf handling
-        if (token.isLeaf()) {
-          // it could still be an array if the leaf node is an array i.e. $.members[0].phones[0]
-          if (token.isArray()) {
-            // set the value in the array
-            ArrayToken at = (ArrayToken)token;
-            setArrayIndexValue((ArrayNode)node, at.getFilter().getIndex(), value);
-          }
-          else {
-            setLeafNode((ObjectNode)node, field, value, path);
-          }
+      if (token.isLeaf() == false) {
+        return node;
+      }
 
-          break;
-        }
+      // it could still be an array if the leaf node is an array i.e. $.members[0].phones[0]
+      ArrayToken at = (ArrayToken)token;
+      setArrayIndexValue((ArrayNode)node, at.getFilter().getIndex(), value);
+      return null;
+    }
 
-        // token is an object. Move inside creating it if it does not exist
-        node = setObjectNode((ObjectNode)node, field);
-        break;
-      }
+    // leaf handling
+    if (token.isLeaf()) {
+      setLeafNode((ObjectNode)node, field, value, path);
+      return null;
     }
 
+    // token is an object. Move inside creating it if it does not exist
+    return setObjectNode((ObjectNode)node, field);
   }
 
   /**
@@ -1449,9 +2118,13 @@ public class JDocument implements Document {
    */
   @Override
   public String getStaticPath(String path, String... vargs) {
-    Tuple2<String, String> t = getDocTypeAndPath(path);
-    String type = t._1;
-    String newPath = t._2;
+    String type = "";
+    String newPath = path;
+    if (path.startsWith("$") == false) {
+      Tuple2<String, String> t = getDocTypeAndPath(path);
+      type = t._1;
+      newPath = t._2;
+    }
     validateDocTypePrefix(type, path);
     return getStaticPath1(newPath, vargs);
   }
@@ -1513,7 +2186,7 @@ public class JDocument implements Document {
     }
   }
 
-  private Tuple2<String, String> getDocTypeAndPath(String path) {
+  static Tuple2<String, String> getDocTypeAndPath(String path) {
     String type = "";
 
     // get the document type if it exists
@@ -1530,6 +2203,11 @@ public class JDocument implements Document {
   }
 
   private String getStaticPath1(String path, String... vargs) {
+    // a path without placeholders is already static
+    if (path.indexOf('%') == -1) {
+      return path;
+    }
+
     int size = path.length();
     StringBuilder sb = new StringBuilder();
     int counter = 0;
@@ -1576,16 +2254,80 @@ public class JDocument implements Document {
   public Object getValue(String path, String... vargs) {
     path = getStaticPath(path, vargs);
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
-    String modelPath = checkPathInModel(path, tokenList, docType);
+    ModelNode mn = checkPathInModel(path, tokenList, docType);
     Tuple2<Object, Boolean> tuple2 = getValue(path, null, tokenList);
     Object value = tuple2._1;
     boolean isPathPresent = tuple2._2;
     if (isPathPresent == true) {
-      checkFieldValue(path, modelPath, value, false, docType);
+      checkFieldValue(path, tokenList, mn, value, docType);
     }
     return value;
   }
 
+  /**
+   * Gets the values at the specified paths. The paths are read in a single traversal of the document in which
+   * the part common to paths that start with the same tokens is traversed only once
+   *
+   * @param paths The paths from which the values have to be read
+   * @return A map of each path to its value in the order of the paths. The value of a path that is not present
+   * in the document is null
+   * @throws UnifyException
+   */
+  @Override
+  public Map<String, Object> getValues(Collection<String> paths) {
+    int size = paths.size();
+    String[] paths1 = new String[size];
+    List<List<Token>> tokenLists = new ArrayList<>(size);
+    List<ModelNode> modelNodes = new ArrayList<>(size);
+    PathTrie trie = new PathTrie();
+
+    // check all paths before the document is traversed as for the single value getters
+    int i = 0;
+    for (String path : paths) {
+      path = getStaticPath(path);
+      List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
+      modelNodes.add(checkPathInModel(path, tokenList, docType));
+      tokenLists.add(tokenList);
+      paths1[i] = path;
+      trie.add(tokenList, i);
+      i++;
+    }
+
+    JsonNode[] nodes = new JsonNode[size];
+    for (PathTrie child : trie.getChildren()) {
+      getNodes(rootNode, child, nodes);
+    }
+
+    Map<String, Object> values = new LinkedHashMap<>(size * 2);
+    i = 0;
+    for (String path : paths) {
+      Tuple2<Object, Boolean> tuple2 = getValue(nodes[i], paths1[i], null);
+      Object value = tuple2._1;
+      boolean isPathPresent = tuple2._2;
+      if (isPathPresent == true) {
+        checkFieldValue(paths1[i], tokenLists.get(i), modelNodes.get(i), value, docType);
+      }
+      values.put(path, value);
+      i++;
+    }
+
+    return values;
+  }
+
+  // traverses the token of the trie node from the node and records the node reached for each path that ends there
+  private void getNodes(JsonNode node, PathTrie trie, JsonNode[] nodes) {
+    node = traverse(node, trie.getToken(), false, true);
+    if (node == null) {
+      return;
+    }
+    for (int i : trie.getPositions()) {
+      nodes[i] = node;
+    }
+    for (PathTrie child : trie.getChildren()) {
+      getNodes(node, child, nodes);
+    }
+  }
+
   /**
    * Gets the value at the specified path as a string
    *
@@ -1598,31 +2340,127 @@ public class JDocument implements Document {
   public String getString(String path, String... vargs) {
     path = getStaticPath(path, vargs);
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
-    String modelPath = checkPathInModel(path, tokenList, docType);
+    ModelNode mn = checkPathInModel(path, tokenList, docType);
     Tuple2<Object, Boolean> tuple2 = getValue(path, String.class, tokenList);
     String value = (String)tuple2._1;
     boolean isPathPresent = tuple2._2;
     if (isPathPresent == true) {
-      checkFieldValue(path, modelPath, value, false, docType);
+      checkFieldValue(path, tokenList, mn, value, docType);
     }
     return value;
   }
 
-  private void checkFieldValue(String path, String modelPath, Object value, boolean isValueArray, String type) {
-    if ((isTyped() == true) && (isValidated == false) && (validationType == CONSTS_JDOCS.VALIDATION_TYPE.ONLY_AT_READ_WRITE)) {
-      String format = getFieldFormat(path, modelPath, isValueArray, type);
-      validateField(format, value, modelPath, null, type);
+  private void checkFieldValue(String path, List<Token> tokenList, ModelNode mn, Object value, String type) {
+    if (isFieldValueChecked() == true) {
+      getFieldValidator(path, mn, type).validate(value, getModelPath(tokenList), null);
     }
   }
 
-  private String checkPathInModel(String path, List<Token> tokenList, String type) {
-    String modelPath = null;
+  // true if the values read from the document need to be validated against the model
+  private boolean isFieldValueChecked() {
+    return (isTyped() == true) && (isValidated == false) && (validationType == CONSTS_JDOCS.VALIDATION_TYPE.ONLY_AT_READ_WRITE);
+  }
+
+  // the node of the value at the path for the primitive getters which read the value from the node so that no tuple
+  // or boxed value is created. The checks are the same as for the getters of the boxed types given by clazz. Returns
+  // null if the path is not present in the document or the value is null
+  private JsonNode getValueNode(String path, List<Token> tokenList, JsonNodeType nodeType, Class clazz) {
+    ModelNode mn = checkPathInModel(path, tokenList, docType);
+    JsonNode node = traverse(rootNode, tokenList, false);
+    if (node == null) {
+      return null;
+    }
+
+    if (isFieldValueChecked() == true) {
+      checkFieldValue(path, tokenList, mn, getValue(node, path, clazz)._1, docType);
+    }
+
+    if (node.isNull()) {
+      return null;
+    }
+
+    if (node.getNodeType() != nodeType) {
+      throw new UnifyException(node.isContainerNode() ? "jdoc_err_14" : "jdoc_err_13", path);
+    }
+
+    return node;
+  }
+
+  /**
+   * Gets the value at the specified path as an int without creating a boxed value
+   *
+   * @param path         The path from which the value has to be read
+   * @param defaultValue The value to return if the path does not exist or has a null value
+   * @param vargs        Optional arguments for the path
+   * @return The int value at the specified path
+   * @throws UnifyException
+   */
+  @Override
+  public int getInt(String path, int defaultValue, String... vargs) {
+    path = getStaticPath(path, vargs);
+    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
+    JsonNode node = getValueNode(path, tokenList, JsonNodeType.NUMBER, Integer.class);
+    return (node == null) ? defaultValue : node.asInt();
+  }
+
+  /**
+   * Gets the value at the specified path as a long without creating a boxed value
+   *
+   * @param path         The path from which the value has to be read
+   * @param defaultValue The value to return if the path does not exist or has a null value
+   * @param vargs        Optional arguments for the path
+   * @return The long value at the specified path
+   * @throws UnifyException
+   */
+  @Override
+  public long getLong(String path, long defaultValue, String... vargs) {
+    path = getStaticPath(path, vargs);
+    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
+    JsonNode node = getValueNode(path, tokenList, JsonNodeType.NUMBER, Long.class);
+    return (node == null) ? defaultValue : node.asLong();
+  }
+
+  /**
+   * Gets the value at the specified path as a boolean without creating a boxed value
+   *
+   * @param path         The path from which the value has to be read
+   * @param defaultValue The value to return if the path does not exist or has a null value
+   * @param vargs        Optional arguments for the path
+   * @return The boolean value at the specified path
+   * @throws UnifyException
+   */
+  @Override
+  public boolean getBool(String path, boolean defaultValue, String... vargs) {
+    path = getStaticPath(path, vargs);
+    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
+    JsonNode node = getValueNode(path, tokenList, JsonNodeType.BOOLEAN, Boolean.class);
+    return (node == null) ? defaultValue : node.asBoolean();
+  }
+
+  /**
+   * Gets the value at the specified path as a double without creating a boxed value
+   *
+   * @param path         The path from which the value has to be read
+   * @param defaultValue The value to return if the path does not exist or has a null value
+   * @param vargs        Optional arguments for the path
+   * @return The double value at the specified path
+   * @throws UnifyException
+   */
+  @Override
+  public double getDouble(String path, double defaultValue, String... vargs) {
+    path = getStaticPath(path, vargs);
+    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
+    JsonNode node = getValueNode(path, tokenList, JsonNodeType.NUMBER, BigDecimal.class);
+    return (node == null) ? defaultValue : node.doubleValue();
+  }
+
+  private ModelNode checkPathInModel(String path, List<Token> tokenList, String type) {
+    ModelNode mn = null;
     if (isTyped()) {
       validateFilterNames(path, tokenList, type);
-      modelPath = getModelPath(path);
-      checkPathExistsInModel(modelPath, type);
+      mn = checkPathExistsInModel(tokenList, type);
     }
-    return modelPath;
+    return mn;
   }
 
   /**
@@ -1637,12 +2475,12 @@ public class JDocument implements Document {
   public Integer getInteger(String path, String... vargs) {
     path = getStaticPath(path, vargs);
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
-    String modelPath = checkPathInModel(path, tokenList, docType);
+    ModelNode mn = checkPathInModel(path, tokenList, docType);
     Tuple2<Object, Boolean> tuple2 = getValue(path, Integer.class, tokenList);
     Integer value = (Integer)tuple2._1;
     boolean isPathPresent = tuple2._2;
     if (isPathPresent == true) {
-      checkFieldValue(path, modelPath, value, false, docType);
+      checkFieldValue(path, tokenList, mn, value, docType);
     }
     return value;
   }
@@ -1659,12 +2497,12 @@ public class JDocument implements Document {
   public Boolean getBoolean(String path, String... vargs) {
     path = getStaticPath(path, vargs);
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
-    String modelPath = checkPathInModel(path, tokenList, docType);
+    ModelNode mn = checkPathInModel(path, tokenList, docType);
     Tuple2<Object, Boolean> tuple2 = getValue(path, Boolean.class, tokenList);
     Boolean value = (Boolean)tuple2._1;
     boolean isPathPresent = tuple2._2;
     if (isPathPresent == true) {
-      checkFieldValue(path, modelPath, value, false, docType);
+      checkFieldValue(path, tokenList, mn, value, docType);
     }
     return value;
   }
@@ -1681,12 +2519,12 @@ public class JDocument implements Document {
   public Long getLong(String path, String... vargs) {
     path = getStaticPath(path, vargs);
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
-    String modelPath = checkPathInModel(path, tokenList, docType);
+    ModelNode mn = checkPathInModel(path, tokenList, docType);
     Tuple2<Object, Boolean> tuple2 = getValue(path, Long.class, tokenList);
     Long value = (Long)tuple2._1;
     boolean isPathPresent = tuple2._2;
     if (isPathPresent == true) {
-      checkFieldValue(path, modelPath, value, false, docType);
+      checkFieldValue(path, tokenList, mn, value, docType);
     }
     return value;
   }
@@ -1703,12 +2541,12 @@ public class JDocument implements Document {
   public BigDecimal getBigDecimal(String path, String... vargs) {
     path = getStaticPath(path, vargs);
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET, PathAccessType.VALUE);
-    String modelPath = checkPathInModel(path, tokenList, docType);
+    ModelNode mn = checkPathInModel(path, tokenList, docType);
     Tuple2<Object, Boolean> tuple2 = getValue(path, BigDecimal.class, tokenList);
     BigDecimal value = (BigDecimal)tuple2._1;
     boolean isPathPresent = tuple2._2;
     if (isPathPresent == true) {
-      checkFieldValue(path, modelPath, value, false, docType);
+      checkFieldValue(path, tokenList, mn, value, docType);
     }
     return value;
   }
@@ -1725,12 +2563,12 @@ public class JDocument implements Document {
   public Object getArrayValue(String path, String... vargs) {
     path = getStaticPath(path, vargs);
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET_ARRAY_VALUE, PathAccessType.VALUE);
-    String modelPath = checkPathInModel(path, tokenList, docType);
+    ModelNode mn = checkPathInModel(path, tokenList, docType);
     Tuple2<Object, Boolean> tuple2 = getValue(path, null, tokenList);
     Object value = tuple2._1;
     boolean isPathPresent = tuple2._2;
     if (isPathPresent == true) {
-      checkFieldValue(path, modelPath, value, true, docType);
+      checkFieldValue(path, tokenList, mn, value, docType);
     }
     return value;
   }
@@ -1747,12 +2585,12 @@ public class JDocument implements Document {
   public String getArrayValueString(String path, String... vargs) {
     path = getStaticPath(path, vargs);
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET_ARRAY_VALUE, PathAccessType.VALUE);
-    String modelPath = checkPathInModel(path, tokenList, docType);
+    ModelNode mn = checkPathInModel(path, tokenList, docType);
     Tuple2<Object, Boolean> tuple2 = getValue(path, String.class, tokenList);
     String value = (String)tuple2._1;
     boolean isPathPresent = tuple2._2;
     if (isPathPresent == true) {
-      checkFieldValue(path, modelPath, value, true, docType);
+      checkFieldValue(path, tokenList, mn, value, docType);
     }
     return value;
   }
@@ -1769,12 +2607,12 @@ public class JDocument implements Document {
   public Integer getArrayValueInteger(String path, String... vargs) {
     path = getStaticPath(path, vargs);
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET_ARRAY_VALUE, PathAccessType.VALUE);
-    String modelPath = checkPathInModel(path, tokenList, docType);
+    ModelNode mn = checkPathInModel(path, tokenList, docType);
     Tuple2<Object, Boolean> tuple2 = getValue(path, Integer.class, tokenList);
     Integer value = (Integer)tuple2._1;
     boolean isPathPresent = tuple2._2;
     if (isPathPresent == true) {
-      checkFieldValue(path, modelPath, value, true, docType);
+      checkFieldValue(path, tokenList, mn, value, docType);
     }
     return value;
   }
@@ -1791,12 +2629,12 @@ public class JDocument implements Document {
   public Boolean getArrayValueBoolean(String path, String... vargs) {
     path = getStaticPath(path, vargs);
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET_ARRAY_VALUE, PathAccessType.VALUE);
-    String modelPath = checkPathInModel(path, tokenList, docType);
+    ModelNode mn = checkPathInModel(path, tokenList, docType);
     Tuple2<Object, Boolean> tuple2 = getValue(path, Boolean.class, tokenList);
     Boolean value = (Boolean)tuple2._1;
     boolean isPathPresent = tuple2._2;
     if (isPathPresent == true) {
-      checkFieldValue(path, modelPath, value, true, docType);
+      checkFieldValue(path, tokenList, mn, value, docType);
     }
     return value;
   }
@@ -1813,12 +2651,12 @@ public class JDocument implements Document {
   public Long getArrayValueLong(String path, String... vargs) {
     path = getStaticPath(path, vargs);
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET_ARRAY_VALUE, PathAccessType.VALUE);
-    String modelPath = checkPathInModel(path, tokenList, docType);
+    ModelNode mn = checkPathInModel(path, tokenList, docType);
     Tuple2<Object, Boolean> tuple2 = getValue(path, Long.class, tokenList);
     Long value = (Long)tuple2._1;
     boolean isPathPresent = tuple2._2;
     if (isPathPresent == true) {
-      checkFieldValue(path, modelPath, value, true, docType);
+      checkFieldValue(path, tokenList, mn, value, docType);
     }
     return value;
   }
@@ -1835,12 +2673,12 @@ public class JDocument implements Document {
   public BigDecimal getArrayValueBigDecimal(String path, String... vargs) {
     path = getStaticPath(path, vargs);
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.GET_ARRAY_VALUE, PathAccessType.VALUE);
-    String modelPath = checkPathInModel(path, tokenList, docType);
+    ModelNode mn = checkPathInModel(path, tokenList, docType);
     Tuple2<Object, Boolean> tuple2 = getValue(path, BigDecimal.class, tokenList);
     BigDecimal value = (BigDecimal)tuple2._1;
     boolean isPathPresent = tuple2._2;
     if (isPathPresent == true) {
-      checkFieldValue(path, modelPath, value, true, docType);
+      checkFieldValue(path, tokenList, mn, value, docType);
     }
     return value;
   }
@@ -1859,7 +2697,7 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET, PathAccessType.VALUE);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      validateField(path, value, docType);
+      validateField(path, tokenList, value, docType);
     }
     setValue(path, tokenList, value, docType);
   }
@@ -1878,7 +2716,7 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET, PathAccessType.VALUE);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      validateField(path, value, docType);
+      validateField(path, tokenList, value, docType);
     }
     setValue(path, tokenList, value, docType);
   }
@@ -1897,7 +2735,7 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET, PathAccessType.VALUE);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      validateField(path, value, docType);
+      validateField(path, tokenList, value, docType);
     }
     setValue(path, tokenList, value, docType);
   }
@@ -1916,7 +2754,7 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET, PathAccessType.VALUE);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      validateField(path, value, docType);
+      validateField(path, tokenList, value, docType);
     }
     setValue(path, tokenList, value, docType);
   }
@@ -1935,45 +2773,135 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET, PathAccessType.VALUE);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      validateField(path, value, docType);
+      validateField(path, tokenList, value, docType);
     }
     setValue(path, tokenList, value, docType);
   }
 
   /**
-   * Sets the value at the specified array path
+   * Applies a set of writes to the document as one edit. All the writes are validated before any of them is
+   * applied and if a write fails, the writes already applied are undone
    *
-   * @param path  The path at which the array value has to be set
-   * @param value The value to be set
-   * @param vargs Optional arguments for the path
+   * @param editor The consumer that collects the writes in the edit
    * @throws UnifyException
    */
   @Override
-  public void setArrayValueString(String path, String value, String... vargs) {
-    path = getStaticPath(path, vargs);
-    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET_ARRAY_VALUE, PathAccessType.VALUE);
-    if (isTyped()) {
-      validateFilterNames(path, tokenList, docType);
-      validateField(path, value, true, docType);
+  public void edit(Consumer<DocumentEdit> editor) {
+    DocumentEdit edit = new DocumentEdit(this);
+    editor.accept(edit);
+    List<String> paths = edit.getPaths();
+    List<Object> values = edit.getValues();
+    int size = paths.size();
+
+    // validate all the writes before the document is changed so that a write that is not valid changes nothing
+    List<List<Token>> tokenLists = new ArrayList<>(size);
+    List<int[]> pathIds = new ArrayList<>(size);
+    PathTrie trie = new PathTrie();
+    for (int i = 0; i < size; i++) {
+      String path = paths.get(i);
+      List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET, PathAccessType.VALUE);
+      if (isTyped()) {
+        validateFilterNames(path, tokenList, docType);
+        validateField(path, tokenList, values.get(i), docType);
+      }
+      tokenLists.add(tokenList);
+      pathIds.add(trie.add(tokenList, i));
     }
-    setValue(path, tokenList, value, docType);
-  }
 
-  /**
-   * Sets the value at the specified array path
-   *
-   * @param path  The path at which the array value has to be set
-   * @param value The value to be set
-   * @param vargs Optional arguments for the path
-   * @throws UnifyException
-   */
-  @Override
-  public void setArrayValueInteger(String path, int value, String... vargs) {
-    path = getStaticPath(path, vargs);
-    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET_ARRAY_VALUE, PathAccessType.VALUE);
+    // the nodes of the document and of the model reached by the tokens of the paths so that the part common to
+    // paths is traversed once. A node is reused only till a write replaces an object or array node and only if
+    // the path to it has no name=value filter as a write may change the element matched by the filter
+    JsonNode[] nodes = new JsonNode[trie.size()];
+    ModelNode[] modelNodes = new ModelNode[trie.size()];
+    int[] versions = new int[trie.size()];
+    Arrays.fill(versions, -1);
+    ModelNode rootModelNode = isTyped() ? getRootModelNode(docType) : null;
+
+    editLog = new EditLog();
+    try {
+      for (int i = 0; i < size; i++) {
+        String path = paths.get(i);
+        Object value = values.get(i);
+        List<Token> tokenList = tokenLists.get(i);
+        int[] ids = pathIds.get(i);
+        int version = editLog.getContainersReplaced();
+
+        // start from the deepest node reached by an earlier write. The leaf token is always traversed
+        JsonNode node = rootNode;
+        ModelNode mn = rootModelNode;
+        int start = 0;
+        for (int j = ids.length - 2; j >= 0; j--) {
+          if (versions[ids[j]] == version) {
+            node = nodes[ids[j]];
+            mn = modelNodes[ids[j]];
+            start = j + 1;
+            break;
+          }
+        }
+
+        boolean isReusable = true;
+        for (int j = start; j < ids.length; j++) {
+          Token token = tokenList.get(j);
+          if (mn != null) {
+            mn = getChildModelNode(mn, token);
+          }
+          node = setValue(node, mn, token, path, value, docType);
+          if (token.isArray() && (((ArrayToken)token).getFilter().getType() == ArrayToken.FilterType.NAME_VALUE)) {
+            isReusable = false;
+          }
+          if ((node != null) && (isReusable == true)) {
+            nodes[ids[j]] = node;
+            modelNodes[ids[j]] = mn;
+            versions[ids[j]] = editLog.getContainersReplaced();
+          }
+        }
+      }
+    }
+    catch (RuntimeException ex) {
+      editLog.undo();
+      arrayIndexes.clear();
+      throw ex;
+    }
+    finally {
+      editLog = null;
+      invalidateSerializedForm();
+    }
+  }
+
+  /**
+   * Sets the value at the specified array path
+   *
+   * @param path  The path at which the array value has to be set
+   * @param value The value to be set
+   * @param vargs Optional arguments for the path
+   * @throws UnifyException
+   */
+  @Override
+  public void setArrayValueString(String path, String value, String... vargs) {
+    path = getStaticPath(path, vargs);
+    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET_ARRAY_VALUE, PathAccessType.VALUE);
+    if (isTyped()) {
+      validateFilterNames(path, tokenList, docType);
+      validateField(path, tokenList, value, docType);
+    }
+    setValue(path, tokenList, value, docType);
+  }
+
+  /**
+   * Sets the value at the specified array path
+   *
+   * @param path  The path at which the array value has to be set
+   * @param value The value to be set
+   * @param vargs Optional arguments for the path
+   * @throws UnifyException
+   */
+  @Override
+  public void setArrayValueInteger(String path, int value, String... vargs) {
+    path = getStaticPath(path, vargs);
+    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET_ARRAY_VALUE, PathAccessType.VALUE);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      validateField(path, value, true, docType);
+      validateField(path, tokenList, value, docType);
     }
     setValue(path, tokenList, value, docType);
   }
@@ -1992,7 +2920,7 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET_ARRAY_VALUE, PathAccessType.VALUE);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      validateField(path, value, true, docType);
+      validateField(path, tokenList, value, docType);
     }
     setValue(path, tokenList, value, docType);
   }
@@ -2011,7 +2939,7 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET_ARRAY_VALUE, PathAccessType.VALUE);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      validateField(path, value, true, docType);
+      validateField(path, tokenList, value, docType);
     }
     setValue(path, tokenList, value, docType);
   }
@@ -2030,11 +2958,516 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET_ARRAY_VALUE, PathAccessType.VALUE);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      validateField(path, value, true, docType);
+      validateField(path, tokenList, value, docType);
     }
     setValue(path, tokenList, value, docType);
   }
 
+  /**
+   * Appends the values to the end of the array at the specified path
+   *
+   * @param path   The path of the array which ends in []
+   * @param values The values to be appended
+   * @param vargs  Optional arguments for the path
+   * @throws UnifyException
+   */
+  @Override
+  public void appendArrayValues(String path, Collection<?> values, String... vargs) {
+    path = getStaticPath(path, vargs);
+    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET_ARRAY, PathAccessType.VALUE);
+    List<JsonNode> nodes = getArrayValueNodes(path, tokenList, values);
+    setArrayNodes(path, tokenList, nodes, false);
+  }
+
+  /**
+   * Replaces the elements of the array at the specified path with the values
+   *
+   * @param path   The path of the array which ends in []
+   * @param values The values to be set
+   * @param vargs  Optional arguments for the path
+   * @throws UnifyException
+   */
+  @Override
+  public void setArrayValues(String path, Collection<?> values, String... vargs) {
+    path = getStaticPath(path, vargs);
+    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET_ARRAY, PathAccessType.VALUE);
+    List<JsonNode> nodes = getArrayValueNodes(path, tokenList, values);
+    setArrayNodes(path, tokenList, nodes, true);
+  }
+
+  /**
+   * Appends the contents of the documents as elements to the end of the array at the specified path
+   *
+   * @param path  The path of the array which ends in []
+   * @param docs  The documents whose contents are to be appended
+   * @param vargs Optional arguments for the path
+   * @throws UnifyException
+   */
+  @Override
+  public void appendElements(String path, List<Document> docs, String... vargs) {
+    path = getStaticPath(path, vargs);
+    List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.SET_ARRAY, PathAccessType.VALUE);
+    ModelNode mn = null;
+    if (isTyped()) {
+      validateFilterNames(path, tokenList, docType);
+      mn = checkPathExistsInModel(tokenList, docType);
+    }
+
+    // all the elements are validated before the array is changed
+    JsonNode node = traverse(rootNode, tokenList, false, false);
+    int index = (node == null) ? 0 : node.size();
+    String arrayPath = path.substring(0, path.length() - 2);
+    List<JsonNode> nodes = new ArrayList<>(docs.size());
+    List<String> errorList = new ArrayList<>();
+    for (Document doc : docs) {
+      JsonNode docNode = toJDocument(doc).rootNode;
+      if (docNode.isObject() == false) {
+        throw new UnifyException("jdoc_err_22", "$.");
+      }
+      if (mn != null) {
+        errorList.addAll(validate(mn, docNode, arrayPath + "[" + index + "].", docType, CONSTS_JDOCS.VALIDATION_TYPE.ALL_DATA_PATHS));
+      }
+      nodes.add(docNode.deepCopy());
+      index++;
+    }
+    processErrors(errorList);
+
+    setArrayNodes(path, tokenList, nodes, false);
+  }
+
+  // the nodes of the values to be added to the array at the path. For a typed document, the values are validated
+  // before any of them is added using the validator of the model of the elements of the array which is looked up once
+  private List<JsonNode> getArrayValueNodes(String path, List<Token> tokenList, Collection<?> values) {
+    FieldValidator fv = null;
+    String modelPath = null;
+    if (isTyped()) {
+      validateFilterNames(path, tokenList, docType);
+      fv = getFieldValidator(path, getRootModelNode(docType).resolve(tokenList), docType);
+      modelPath = getModelPath(tokenList);
+    }
+
+    JsonNodeFactory factory = objectMapper.getNodeFactory();
+    List<JsonNode> nodes = new ArrayList<>(values.size());
+    for (Object value : values) {
+      if (fv != null) {
+        fv.validate(value, modelPath, null);
+      }
+
+      if (value == null) {
+        nodes.add(factory.nullNode());
+      }
+      else if (value instanceof String) {
+        nodes.add(factory.textNode((String)value));
+      }
+      else if (value instanceof Integer) {
+        nodes.add(factory.numberNode((Integer)value));
+      }
+      else if (value instanceof Long) {
+        nodes.add(factory.numberNode((Long)value));
+      }
+      else if (value instanceof BigDecimal) {
+        nodes.add(factory.numberNode((BigDecimal)value));
+      }
+      else if (value instanceof Boolean) {
+        nodes.add(factory.booleanNode((Boolean)value));
+      }
+      else {
+        throw new UnifyException("jdoc_err_15", value.getClass().getCanonicalName());
+      }
+    }
+    return nodes;
+  }
+
+  // appends the nodes to the array at the path or replaces its elements with the nodes if isReplace is true
+  private void setArrayNodes(String path, List<Token> tokenList, List<JsonNode> nodes, boolean isReplace) {
+    try {
+      ArrayNode arrayNode = setArrayNode(path, tokenList);
+      if (isReplace == true) {
+        arrayIndexes.invalidate(arrayNode);
+        arrayNode.removeAll();
+      }
+      arrayNode.addAll(nodes);
+    }
+    finally {
+      invalidateSerializedForm();
+    }
+  }
+
+  // the array at the path which ends in [] creating the path if it does not exist
+  private ArrayNode setArrayNode(String path, List<Token> tokenList) {
+    JsonNode node = rootNode;
+    ModelNode mn = isTyped() ? getRootModelNode(docType) : null;
+    int last = tokenList.size() - 1;
+    for (int i = 0; i < last; i++) {
+      Token token = tokenList.get(i);
+      if (mn != null) {
+        mn = getChildModelNode(mn, token);
+      }
+      node = setValue(node, mn, token, path, null, docType);
+    }
+
+    // special handling for a document that starts with an array
+    if (node.getNodeType() != JsonNodeType.ARRAY) {
+      node = setArrayNode((ObjectNode)node, tokenList.get(last).getField());
+    }
+
+    if (node.isArray() == false) {
+      throw new UnifyException("jdoc_err_25", path);
+    }
+    return (ArrayNode)node;
+  }
+
+  private void validatePath(CompiledPath path, CONSTS_JDOCS.API api, PathAccessType pat) {
+    validateDocTypePrefix(path.getType(), path.getPath());
+
+    // the leaf checks do not depend on the values bound to the placeholders and hence are done only once
+    if (path.isValidated(api, pat) == false) {
+      validatePath1(path.getStaticPath(), api, path.getTokens(), pat);
+      path.setValidated(api, pat);
+    }
+  }
+
+  // returns the model node of the compiled path which is resolved only once for a given model
+  private ModelNode getModelNode(CompiledPath path, String type) {
+    ModelNode root = getRootModelNode(type);
+    ModelNode mn = path.getModelNode(root);
+    if (mn == null) {
+      // the indexes and filters in the path do not matter for resolving it in the model
+      mn = root.resolve(path.getTokens());
+      if (mn != null) {
+        path.setModelNode(root, mn);
+      }
+    }
+    return mn;
+  }
+
+  private ModelNode checkPathInModel(CompiledPath path, List<Token> tokenList, String type) {
+    ModelNode mn = null;
+    if (isTyped()) {
+      if (path.hasFilters()) {
+        validateFilterNames(path.getStaticPath(), tokenList, type);
+      }
+      mn = getModelNode(path, type);
+      if (mn == null) {
+        throw new UnifyException("jdoc_err_38", type, path.getModelPath());
+      }
+    }
+    return mn;
+  }
+
+  private Object readValue(CompiledPath path, List<Token> tokenList, Class clazz, CONSTS_JDOCS.API api) {
+    validatePath(path, api, PathAccessType.VALUE);
+    ModelNode mn = checkPathInModel(path, tokenList, docType);
+    Tuple2<Object, Boolean> tuple2 = getValue(path.getStaticPath(), clazz, tokenList);
+    Object value = tuple2._1;
+    boolean isPathPresent = tuple2._2;
+    if (isPathPresent == true) {
+      checkFieldValue(path.getStaticPath(), tokenList, mn, value, docType);
+    }
+    return value;
+  }
+
+  private void writeValue(CompiledPath path, List<Token> tokenList, Object value, CONSTS_JDOCS.API api) {
+    validatePath(path, api, PathAccessType.VALUE);
+    if (isTyped()) {
+      if (path.hasFilters()) {
+        validateFilterNames(path.getStaticPath(), tokenList, docType);
+      }
+      FieldValidator fv = getFieldValidator(path.getStaticPath(), getModelNode(path, docType), docType);
+      fv.validate(value, path.getModelPath(), null);
+    }
+    setValue(path.getStaticPath(), tokenList, value, docType);
+  }
+
+  private boolean pathExists1(CompiledPath path, List<Token> tokenList) {
+    validatePath(path, CONSTS_JDOCS.API.PATH_EXISTS, PathAccessType.OBJECT);
+    checkPathInModel(path, tokenList, docType);
+    JsonNode node = getJsonNode(tokenList);
+    return (node != null);
+  }
+
+  private int getArraySize1(CompiledPath path, List<Token> tokenList) {
+    validatePath(path, CONSTS_JDOCS.API.GET_ARRAY_SIZE, PathAccessType.VALUE);
+    checkPathInModel(path, tokenList, docType);
+    return getArraySize(path.getStaticPath(), tokenList);
+  }
+
+  private int getArrayIndex1(CompiledPath path, List<Token> tokenList) {
+    validatePath(path, CONSTS_JDOCS.API.GET_ARRAY_INDEX, PathAccessType.VALUE);
+    checkPathInModel(path, tokenList, docType);
+    return getArrayIndex(path.getStaticPath(), tokenList);
+  }
+
+  private void deletePath1(CompiledPath path, List<Token> tokenList) {
+    validatePath(path, CONSTS_JDOCS.API.DELETE_PATH, PathAccessType.OBJECT);
+    checkPathInModel(path, tokenList, docType);
+
+    // as in the string version, we only delete if the path exists in the document
+    if (getJsonNode(tokenList) != null) {
+      deletePath(path.getStaticPath(), tokenList);
+    }
+  }
+
+  @Override
+  public boolean pathExists(CompiledPath path, String... vargs) {
+    return pathExists1(path, path.bind(vargs));
+  }
+
+  @Override
+  public boolean pathExists(CompiledPath path, int index, int... indexes) {
+    return pathExists1(path, path.bind(index, indexes));
+  }
+
+  @Override
+  public int getArraySize(CompiledPath path, String... vargs) {
+    return getArraySize1(path, path.bind(vargs));
+  }
+
+  @Override
+  public int getArraySize(CompiledPath path, int index, int... indexes) {
+    return getArraySize1(path, path.bind(index, indexes));
+  }
+
+  @Override
+  public int getArrayIndex(CompiledPath path, String... vargs) {
+    return getArrayIndex1(path, path.bind(vargs));
+  }
+
+  @Override
+  public int getArrayIndex(CompiledPath path, int index, int... indexes) {
+    return getArrayIndex1(path, path.bind(index, indexes));
+  }
+
+  @Override
+  public void deletePath(CompiledPath path, String... vargs) {
+    deletePath1(path, path.bind(vargs));
+  }
+
+  @Override
+  public void deletePath(CompiledPath path, int index, int... indexes) {
+    deletePath1(path, path.bind(index, indexes));
+  }
+
+  @Override
+  public Object getValue(CompiledPath path, String... vargs) {
+    return readValue(path, path.bind(vargs), null, CONSTS_JDOCS.API.GET);
+  }
+
+  @Override
+  public Object getValue(CompiledPath path, int index, int... indexes) {
+    return readValue(path, path.bind(index, indexes), null, CONSTS_JDOCS.API.GET);
+  }
+
+  @Override
+  public String getString(CompiledPath path, String... vargs) {
+    return (String)readValue(path, path.bind(vargs), String.class, CONSTS_JDOCS.API.GET);
+  }
+
+  @Override
+  public String getString(CompiledPath path, int index, int... indexes) {
+    return (String)readValue(path, path.bind(index, indexes), String.class, CONSTS_JDOCS.API.GET);
+  }
+
+  @Override
+  public Integer getInteger(CompiledPath path, String... vargs) {
+    return (Integer)readValue(path, path.bind(vargs), Integer.class, CONSTS_JDOCS.API.GET);
+  }
+
+  @Override
+  public Integer getInteger(CompiledPath path, int index, int... indexes) {
+    return (Integer)readValue(path, path.bind(index, indexes), Integer.class, CONSTS_JDOCS.API.GET);
+  }
+
+  @Override
+  public Boolean getBoolean(CompiledPath path, String... vargs) {
+    return (Boolean)readValue(path, path.bind(vargs), Boolean.class, CONSTS_JDOCS.API.GET);
+  }
+
+  @Override
+  public Boolean getBoolean(CompiledPath path, int index, int... indexes) {
+    return (Boolean)readValue(path, path.bind(index, indexes), Boolean.class, CONSTS_JDOCS.API.GET);
+  }
+
+  @Override
+  public Long getLong(CompiledPath path, String... vargs) {
+    return (Long)readValue(path, path.bind(vargs), Long.class, CONSTS_JDOCS.API.GET);
+  }
+
+  @Override
+  public Long getLong(CompiledPath path, int index, int... indexes) {
+    return (Long)readValue(path, path.bind(index, indexes), Long.class, CONSTS_JDOCS.API.GET);
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(CompiledPath path, String... vargs) {
+    return (BigDecimal)readValue(path, path.bind(vargs), BigDecimal.class, CONSTS_JDOCS.API.GET);
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(CompiledPath path, int index, int... indexes) {
+    return (BigDecimal)readValue(path, path.bind(index, indexes), BigDecimal.class, CONSTS_JDOCS.API.GET);
+  }
+
+  @Override
+  public Object getArrayValue(CompiledPath path, String... vargs) {
+    return readValue(path, path.bind(vargs), null, CONSTS_JDOCS.API.GET_ARRAY_VALUE);
+  }
+
+  @Override
+  public Object getArrayValue(CompiledPath path, int index, int... indexes) {
+    return readValue(path, path.bind(index, indexes), null, CONSTS_JDOCS.API.GET_ARRAY_VALUE);
+  }
+
+  @Override
+  public String getArrayValueString(CompiledPath path, String... vargs) {
+    return (String)readValue(path, path.bind(vargs), String.class, CONSTS_JDOCS.API.GET_ARRAY_VALUE);
+  }
+
+  @Override
+  public String getArrayValueString(CompiledPath path, int index, int... indexes) {
+    return (String)readValue(path, path.bind(index, indexes), String.class, CONSTS_JDOCS.API.GET_ARRAY_VALUE);
+  }
+
+  @Override
+  public Integer getArrayValueInteger(CompiledPath path, String... vargs) {
+    return (Integer)readValue(path, path.bind(vargs), Integer.class, CONSTS_JDOCS.API.GET_ARRAY_VALUE);
+  }
+
+  @Override
+  public Integer getArrayValueInteger(CompiledPath path, int index, int... indexes) {
+    return (Integer)readValue(path, path.bind(index, indexes), Integer.class, CONSTS_JDOCS.API.GET_ARRAY_VALUE);
+  }
+
+  @Override
+  public Boolean getArrayValueBoolean(CompiledPath path, String... vargs) {
+    return (Boolean)readValue(path, path.bind(vargs), Boolean.class, CONSTS_JDOCS.API.GET_ARRAY_VALUE);
+  }
+
+  @Override
+  public Boolean getArrayValueBoolean(CompiledPath path, int index, int... indexes) {
+    return (Boolean)readValue(path, path.bind(index, indexes), Boolean.class, CONSTS_JDOCS.API.GET_ARRAY_VALUE);
+  }
+
+  @Override
+  public Long getArrayValueLong(CompiledPath path, String... vargs) {
+    return (Long)readValue(path, path.bind(vargs), Long.class, CONSTS_JDOCS.API.GET_ARRAY_VALUE);
+  }
+
+  @Override
+  public Long getArrayValueLong(CompiledPath path, int index, int... indexes) {
+    return (Long)readValue(path, path.bind(index, indexes), Long.class, CONSTS_JDOCS.API.GET_ARRAY_VALUE);
+  }
+
+  @Override
+  public BigDecimal getArrayValueBigDecimal(CompiledPath path, String... vargs) {
+    return (BigDecimal)readValue(path, path.bind(vargs), BigDecimal.class, CONSTS_JDOCS.API.GET_ARRAY_VALUE);
+  }
+
+  @Override
+  public BigDecimal getArrayValueBigDecimal(CompiledPath path, int index, int... indexes) {
+    return (BigDecimal)readValue(path, path.bind(index, indexes), BigDecimal.class, CONSTS_JDOCS.API.GET_ARRAY_VALUE);
+  }
+
+  @Override
+  public void setString(CompiledPath path, String value, String... vargs) {
+    writeValue(path, path.bind(vargs), value, CONSTS_JDOCS.API.SET);
+  }
+
+  @Override
+  public void setString(CompiledPath path, String value, int index, int... indexes) {
+    writeValue(path, path.bind(index, indexes), value, CONSTS_JDOCS.API.SET);
+  }
+
+  @Override
+  public void setInteger(CompiledPath path, int value, String... vargs) {
+    writeValue(path, path.bind(vargs), value, CONSTS_JDOCS.API.SET);
+  }
+
+  @Override
+  public void setInteger(CompiledPath path, int value, int index, int... indexes) {
+    writeValue(path, path.bind(index, indexes), value, CONSTS_JDOCS.API.SET);
+  }
+
+  @Override
+  public void setBoolean(CompiledPath path, boolean value, String... vargs) {
+    writeValue(path, path.bind(vargs), value, CONSTS_JDOCS.API.SET);
+  }
+
+  @Override
+  public void setBoolean(CompiledPath path, boolean value, int index, int... indexes) {
+    writeValue(path, path.bind(index, indexes), value, CONSTS_JDOCS.API.SET);
+  }
+
+  @Override
+  public void setLong(CompiledPath path, long value, String... vargs) {
+    writeValue(path, path.bind(vargs), value, CONSTS_JDOCS.API.SET);
+  }
+
+  @Override
+  public void setLong(CompiledPath path, long value, int index, int... indexes) {
+    writeValue(path, path.bind(index, indexes), value, CONSTS_JDOCS.API.SET);
+  }
+
+  @Override
+  public void setBigDecimal(CompiledPath path, BigDecimal value, String... vargs) {
+    writeValue(path, path.bind(vargs), value, CONSTS_JDOCS.API.SET);
+  }
+
+  @Override
+  public void setBigDecimal(CompiledPath path, BigDecimal value, int index, int... indexes) {
+    writeValue(path, path.bind(index, indexes), value, CONSTS_JDOCS.API.SET);
+  }
+
+  @Override
+  public void setArrayValueString(CompiledPath path, String value, String... vargs) {
+    writeValue(path, path.bind(vargs), value, CONSTS_JDOCS.API.SET_ARRAY_VALUE);
+  }
+
+  @Override
+  public void setArrayValueString(CompiledPath path, String value, int index, int... indexes) {
+    writeValue(path, path.bind(index, indexes), value, CONSTS_JDOCS.API.SET_ARRAY_VALUE);
+  }
+
+  @Override
+  public void setArrayValueInteger(CompiledPath path, int value, String... vargs) {
+    writeValue(path, path.bind(vargs), value, CONSTS_JDOCS.API.SET_ARRAY_VALUE);
+  }
+
+  @Override
+  public void setArrayValueInteger(CompiledPath path, int value, int index, int... indexes) {
+    writeValue(path, path.bind(index, indexes), value, CONSTS_JDOCS.API.SET_ARRAY_VALUE);
+  }
+
+  @Override
+  public void setArrayValueBoolean(CompiledPath path, boolean value, String... vargs) {
+    writeValue(path, path.bind(vargs), value, CONSTS_JDOCS.API.SET_ARRAY_VALUE);
+  }
+
+  @Override
+  public void setArrayValueBoolean(CompiledPath path, boolean value, int index, int... indexes) {
+    writeValue(path, path.bind(index, indexes), value, CONSTS_JDOCS.API.SET_ARRAY_VALUE);
+  }
+
+  @Override
+  public void setArrayValueLong(CompiledPath path, long value, String... vargs) {
+    writeValue(path, path.bind(vargs), value, CONSTS_JDOCS.API.SET_ARRAY_VALUE);
+  }
+
+  @Override
+  public void setArrayValueLong(CompiledPath path, long value, int index, int... indexes) {
+    writeValue(path, path.bind(index, indexes), value, CONSTS_JDOCS.API.SET_ARRAY_VALUE);
+  }
+
+  @Override
+  public void setArrayValueBigDecimal(CompiledPath path, BigDecimal value, String... vargs) {
+    writeValue(path, path.bind(vargs), value, CONSTS_JDOCS.API.SET_ARRAY_VALUE);
+  }
+
+  @Override
+  public void setArrayValueBigDecimal(CompiledPath path, BigDecimal value, int index, int... indexes) {
+    writeValue(path, path.bind(index, indexes), value, CONSTS_JDOCS.API.SET_ARRAY_VALUE);
+  }
+
   /**
    * Sets the content from one document to another
    *
@@ -2046,6 +3479,15 @@ public class JDocument implements Document {
    */
   @Override
   public void setContent(Document fromDoc, String fromPath, String toPath, String... vargs) {
+    try {
+      setContent1(fromDoc, fromPath, toPath, vargs);
+    }
+    finally {
+      invalidateSerializedForm();
+    }
+  }
+
+  private void setContent1(Document fromDoc, String fromPath, String toPath, String... vargs) {
     // replace vargs in from
     int count = BaseUtils.getCount(fromPath, '%');
     String[] vargsFrom = new String[count];
@@ -2077,7 +3519,7 @@ public class JDocument implements Document {
       List<Token> tokenList = parse(fromPath);
       validatePath1(fromPath, CONSTS_JDOCS.API.CONTENT, tokenList, PathAccessType.OBJECT);
 
-      JDocument fromJDoc = (JDocument)fromDoc;
+      JDocument fromJDoc = toJDocument(fromDoc);
       JsonNode fromNode = fromJDoc.traverse(fromJDoc.rootNode, tokenList, false);
 
       if (fromNode == null) {
@@ -2105,6 +3547,7 @@ public class JDocument implements Document {
         throw new UnifyException("jdoc_err_24");
       }
 
+      arrayIndexes.clear();
       if (fromNodeType == JsonNodeType.OBJECT) {
         ((ObjectNode)toNode).setAll((ObjectNode)fromNode);
       }
@@ -2132,11 +3575,27 @@ public class JDocument implements Document {
     JDocument d = new JDocument();
     d.rootNode = rootNode.deepCopy();
     copyInstanceFields(d, docType, validationType, isValidated);
+    d.partModelNode = partModelNode;
     return d;
   }
 
   protected void deletePath(String path, List<Token> tokenList) {
+    try {
+      deleteNodes(path, tokenList);
+    }
+    finally {
+      invalidateSerializedForm();
+    }
+  }
+
+  private void deleteNodes(String path, List<Token> tokenList) {
     JsonNode parentNode = null;
+
+    // elements or their fields may be removed from any of the arrays on the path
+    arrayIndexes.clear();
+
+    // we work on a copy as the list is consumed below and the passed list may be shared through the path cache
+    tokenList = new ArrayList<>(tokenList);
     while (true) {
       if (tokenList.isEmpty()) {
         // we need to empty out the document
@@ -2249,7 +3708,7 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(pathWithoutType, CONSTS_JDOCS.API.DELETE_PATH, PathAccessType.OBJECT);
     if (isTyped()) {
       validateFilterNames(pathWithoutType, tokenList, docType);
-      checkPathExistsInModel(getModelPath(pathWithoutType), docType);
+      checkPathExistsInModel(tokenList, docType);
     }
 
     // we first check if the path exists in the document only then do we go ahead to delete it
@@ -2274,7 +3733,7 @@ public class JDocument implements Document {
     List<Token> tokenList = validatePath(path, CONSTS_JDOCS.API.PATH_EXISTS, PathAccessType.OBJECT);
     if (isTyped()) {
       validateFilterNames(path, tokenList, docType);
-      checkPathExistsInModel(getModelPath(path), docType);
+      checkPathExistsInModel(tokenList, docType);
     }
 
     JsonNode node = getJsonNode(tokenList);
@@ -2296,7 +3755,16 @@ public class JDocument implements Document {
   }
 
   protected List<Token> parse(String path) {
-    return Parser.getTokens(path);
+    if (pathCache == null) {
+      return Parser.getTokens(path);
+    }
+
+    List<Token> tokens = pathCache.get(path);
+    if (tokens == null) {
+      tokens = Collections.unmodifiableList(Parser.getTokens(path));
+      pathCache.put(path, tokens);
+    }
+    return tokens;
   }
 
   /**
@@ -2381,16 +3849,67 @@ public class JDocument implements Document {
    */
   public static void loadDocumentModel(String type, String json) {
     logger.info("Loading document model -> {}", type);
+    JsonNode node = null;
     try {
-      json = insertReferredModels(json);
+      // the fragments referred to using @here are spliced into the tree of the model
+      node = ModelComposer.compose(json);
     }
     catch (IOException ex) {
       logger.error("IO exception encountered for type {}, error message -> {}", type, ex.getMessage());
       System.exit(-1);
     }
 
-    Document d = new JDocument(json);
-    setDocumentModel(type, d);
+    setDocumentModel(type, new JDocument(node));
+  }
+
+  /**
+   * Loads document models in parallel. Along with loading a model, the validators of all the fields of the model are
+   * compiled so that this is not done when a path is first accessed
+   *
+   * @param models the json of each model keyed by the type
+   * @param warmUp true if every path of a model is to be read once from an empty document of the type so that the
+   *               code used to access documents is compiled before the first document is processed
+   * @return the time taken to load each model in the order of the models
+   * @throws UnifyException if a field of a model has an invalid format
+   */
+  public static Map<String, Duration> loadDocumentModels(Map<String, String> models, boolean warmUp) {
+    Map<String, Duration> durations = new ConcurrentHashMap<>();
+    models.entrySet().parallelStream().forEach(e -> {
+      String type = e.getKey();
+      long start = System.nanoTime();
+      loadDocumentModel(type, e.getValue());
+      getModelNode(type).compile(type, new PathStack("$."));
+      if (warmUp == true) {
+        warmUp(type);
+      }
+      Duration duration = Duration.ofNanos(System.nanoTime() - start);
+      durations.put(type, duration);
+      logger.info("Loaded document model -> {} in {} ms", type, duration.toMillis());
+    });
+
+    Map<String, Duration> map = new LinkedHashMap<>();
+    for (String type : models.keySet()) {
+      map.put(type, durations.get(type));
+    }
+    return map;
+  }
+
+  // reads every path of the model from an empty document of the type
+  private static void warmUp(String type) {
+    Document d = new JDocument(type, null);
+    for (String path : docModels.get(type).flatten()) {
+      if (path.endsWith(CONSTS_JDOCS.FORMAT_FIELDS.KEY)) {
+        continue;
+      }
+
+      // the type is specified in the path so that the path is valid for any doc type prefix policy
+      if (path.endsWith("]")) {
+        d.getArrayValue(type + path);
+      }
+      else {
+        d.getValue(type + path);
+      }
+    }
   }
 
   /**
@@ -2400,6 +3919,8 @@ public class JDocument implements Document {
    * @param model the model
    */
   public static void setDocumentModel(String type, Document model) {
+    // the model tree is a snapshot of the model document at this point of time
+    docModelNodes.put(type, ModelNode.build(toJDocument(model).rootNode));
     docModels.put(type, model);
   }
 
@@ -2418,13 +3939,16 @@ public class JDocument implements Document {
    */
   public static void close() {
     docModels = new ConcurrentHashMap<>();
-    docModelPaths = new ConcurrentHashMap<>();
-    compiledPatterns = new ConcurrentHashMap<>();
+    docModelNodes = new ConcurrentHashMap<>();
+    ModelComposer.clear();
+    pathCache = null;
     defaultValidationType = null;
     docTypePrefixPolicy = null;
     ignoreDocTypePrefixForBaseDocs = null;
     lineFeed = null;
+    cacheSerializedForm = false;
     objectMapper = null;
+    binaryMapper = null;
     objectWriter = null;
     isInitialized = false;
   }
@@ -2443,96 +3967,54 @@ public class JDocument implements Document {
     return jd;
   }
 
-  private static Document getDocumentModel1(String type) {
-    return docModels.get(type);
-  }
-
-  private static String insertReferredModels(String json) throws IOException {
-    while (true) {
-      StringBuilder sb = new StringBuilder(1024);
-
-      try (Scanner scanner = new Scanner(json)) {
-        boolean isReferred = false;
-
-        while (scanner.hasNextLine()) {
-          String line = scanner.nextLine().trim();
-          int indexPattern = line.indexOf("\"@here\"");
-
-          if (indexPattern == 0) {
-            isReferred = true;
-
-            String tokens[] = line.split(":");
-            String rfn = tokens[1].trim();
-            int indexQuote = rfn.lastIndexOf('"');
-            rfn = rfn.substring(1, indexQuote);
-            String contents = BaseUtils.getResourceAsString(JDocument.class, rfn).trim();
-            sb.append(contents.substring(1, contents.length() - 1));
-
-            if (line.charAt(line.length() - 1) == ',') {
-              sb.append(',');
-              sb.append(CONSTS_BASE.NEW_LINE);
-            }
-          }
-          else {
-            sb.append(line);
-            sb.append(CONSTS_BASE.NEW_LINE);
-          }
-        }
-
-        json = sb.toString();
-
-        if (isReferred == false) {
-          break;
-        }
-      }
+  private static ModelNode getModelNode(String type) {
+    ModelNode mn = docModelNodes.get(type);
+    if (mn == null) {
+      throw new UnifyException("jdoc_err_29", type);
     }
+    return mn;
+  }
 
-    JsonNode node = objectMapper.readTree(json);
-    json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(node);
-    return json;
+  // the root of the model tree of the type against which the paths of this document are resolved. For a
+  // document that is a part of a typed document, this is the model node of the part
+  private ModelNode getRootModelNode(String type) {
+    return ((partModelNode != null) && type.equals(docType)) ? partModelNode : getModelNode(type);
   }
 
-  private String getFieldFormat(String path, String modelPath, boolean isValueArray, String type) {
-    // get the format string from the path
-    Document md = docModels.get(type);
-    if (md == null) {
-      throw new UnifyException("jdoc_err_29", type);
+  private FieldValidator getFieldValidator(String path, ModelNode mn, String type) {
+    // get the compiled format string from the model node of the path
+    if (mn == null) {
+      throw new UnifyException("jdoc_err_38", type, path);
     }
 
-    String format = null;
-    if (isValueArray) {
-      format = md.getArrayValueString(modelPath);
-    }
-    else {
-      format = md.getString(modelPath);
+    if (mn.isValue() == false) {
+      throw new UnifyException("jdoc_err_14", path);
     }
 
-    if (format == null) {
+    if (mn.getFormat() == null) {
+      if (mn.getJsonNode().isNull() == false) {
+        throw new UnifyException("jdoc_err_13", path);
+      }
       throw new UnifyException("jdoc_err_38", type, path);
     }
 
-    return format;
+    return mn.getValidator(type, path);
   }
 
-  private void checkPathExistsInModel(String path, String type) {
-    Document md = docModels.get(type);
-    boolean b = md.pathExists(path);
-    if (b == false) {
-      throw new UnifyException("jdoc_err_38", type, path);
+  private ModelNode checkPathExistsInModel(List<Token> tokenList, String type) {
+    ModelNode mn = getRootModelNode(type).resolve(tokenList);
+    if (mn == null) {
+      throw new UnifyException("jdoc_err_38", type, getModelPath(tokenList));
     }
+    return mn;
   }
 
-  private void validateField(String path, Object value, String type) {
-    validateField(path, value, false, type);
-  }
-
-  private void validateField(String path, Object value, boolean isValueArray, String type) {
-    String modelPath = getModelPath(path);
-    String format = getFieldFormat(path, modelPath, isValueArray, type);
-    validateField(format, value, modelPath, null, type);
+  private void validateField(String path, List<Token> tokenList, Object value, String type) {
+    ModelNode mn = getRootModelNode(type).resolve(tokenList);
+    getFieldValidator(path, mn, type).validate(value, getModelPath(tokenList), null);
   }
 
-  private void processErrors(List<String> errorList) {
+  static void processErrors(List<String> errorList) {
     if (errorList.size() > 0) {
       StringBuilder sb = new StringBuilder();
       errorList.stream().forEach(s -> {
@@ -2543,29 +4025,48 @@ public class JDocument implements Document {
     }
   }
 
-  private String getModelPath(String path) {
-    String s = "";
-
-    while (true) {
-      int index = path.indexOf('[');
-      if (index == -1) {
-        s = s + path;
-        break;
+  // the model path is the path with every array index or filter replaced by [0]
+  static String getModelPath(List<Token> tokenList) {
+    StringBuilder sb = new StringBuilder(64);
+    sb.append("$.");
+    int size = tokenList.size();
+    for (int i = 0; i < size; i++) {
+      Token token = tokenList.get(i);
+      if (i > 0) {
+        sb.append('.');
       }
+      appendEscaped(sb, token.getField());
+      if (token.isArray()) {
+        sb.append("[0]");
+      }
+    }
+    return sb.toString();
+  }
 
-      s = s + path.substring(0, index + 1) + "0]";
+  private static void appendEscaped(StringBuilder sb, String field) {
+    int size = field.length();
+    for (int i = 0; i < size; i++) {
+      char c = field.charAt(i);
+      switch (c) {
+        case '\\':
+        case '.':
+        case '[':
+        case ']':
+        case '=':
+          sb.append('\\');
+          break;
 
-      index = path.indexOf(']');
-      path = path.substring(index + 1);
+        default:
+          break;
+      }
+      sb.append(c);
     }
-
-    return s;
   }
 
-  private void mergeArray(ArrayNode toNode, ArrayNode fromNode, ArrayNode modelNode, String field) {
+  private void mergeArray(ArrayNode toNode, ArrayNode fromNode, ModelNode modelNode, String field) {
     // check if it is a array value
-    JsonNode node = modelNode.get(0);
-    if (node instanceof ValueNode) {
+    ModelNode elementModelNode = modelNode.getElement();
+    if (elementModelNode.isValue()) {
       // there is no key node for such cases
       // we just append the elements
       toNode.addAll(fromNode);
@@ -2573,16 +4074,34 @@ public class JDocument implements Document {
     else {
       // get the key field. If the key field is not defined in the model then we throw an exception
       // this means that key fields are mandatory if we want to use merge functionality
-      String keyField = getKeyField(modelNode);
+      String keyField = modelNode.getKeyField();
       if (keyField == null) {
         throw new UnifyException("jdoc_err_32", field);
       }
 
+      // index the elements of toNode by the value of their key field so that each element of fromNode is
+      // matched without a scan of toNode. The first element with a value is the one that a scan would match
+      // and an element without a key field is only reported if a scan would have reached it
+      int size = toNode.size();
+      Map<String, Integer> toIndexes = new HashMap<>(size * 2);
+      int missingKeyIndex = -1;
+      for (int i = 0; i < size; i++) {
+        JsonNode keyNode = toNode.get(i).get(keyField);
+        if (keyNode == null) {
+          if (missingKeyIndex == -1) {
+            missingKeyIndex = i;
+          }
+        }
+        else {
+          toIndexes.putIfAbsent(keyNode.asText(), i);
+        }
+      }
+
       // for each element of fromNode
       // look for the field corresponding to the key field in toNode
       // if found update that object
       // else add to the end of the array
-      int size = fromNode.size();
+      size = fromNode.size();
       for (int i = 0; i < size; i++) {
         JsonNode fromElementNode = fromNode.get(i);
         JsonNode keyNode = fromElementNode.get(keyField);
@@ -2594,58 +4113,26 @@ public class JDocument implements Document {
           throw new UnifyException("jdoc_err_64", field);
         }
 
-        String keyValue = keyNode.asText();
-        JsonNode toMatchedNode = getMatchingArrayElementByKey(toNode, keyField, keyValue, field);
-        if (toMatchedNode == null) {
-          // add to the end of the array
-          toNode.add(fromElementNode);
-        }
-        else {
-          // merge into the to element
-          merge(toMatchedNode, fromElementNode, modelNode.get(0));
-        }
-      }
-    }
-  }
-
-  private JsonNode getMatchingArrayElementByKey(ArrayNode node, String keyField, String fromKeyValue, String field) {
-    JsonNode matchedNode = null;
-
-    int size = node.size();
-    for (int i = 0; i < size; i++) {
-      JsonNode elementNode = node.get(i);
-      JsonNode keyNode = elementNode.get(keyField);
-      if (keyNode == null) {
-        throw new UnifyException("jdoc_err_34", field);
-      }
-      String keyValue = keyNode.asText();
-      if (keyValue.equals(fromKeyValue)) {
-        matchedNode = elementNode;
-        break;
-      }
-    }
-
-    return matchedNode;
-  }
-
-  private String getKeyField(ArrayNode modelNode) {
-    String keyField = null;
+        String keyValue = keyNode.asText();
+        Integer index = toIndexes.get(keyValue);
+        if ((missingKeyIndex != -1) && ((index == null) || (missingKeyIndex < index))) {
+          throw new UnifyException("jdoc_err_34", field);
+        }
 
-    JsonNode node = modelNode.get(0).get(CONSTS_JDOCS.FORMAT_FIELDS.KEY);
-    if (node != null) {
-      String json = node.asText();
-      try {
-        keyField = objectMapper.readTree(json).get("field").asText();
-      }
-      catch (IOException ex) {
-        throw new UnifyException("jdoc_err_1", ex);
+        if (index == null) {
+          // add to the end of the array
+          toIndexes.put(keyValue, toNode.size());
+          toNode.add(fromElementNode);
+        }
+        else {
+          // merge into the to element
+          merge(toNode.get(index), fromElementNode, elementModelNode);
+        }
       }
     }
-
-    return keyField;
   }
 
-  private void merge(JsonNode toNode, JsonNode fromNode, JsonNode modelNode) {
+  private void merge(JsonNode toNode, JsonNode fromNode, ModelNode modelNode) {
     Iterator<Map.Entry<String, JsonNode>> mergeFromFieldIter = fromNode.fields();
 
     while (mergeFromFieldIter.hasNext()) {
@@ -2657,7 +4144,7 @@ public class JDocument implements Document {
       JsonNode fromFieldNode = entry.getValue();
 
       // get the model node details
-      JsonNode modelFieldNode = modelNode.get(field);
+      ModelNode modelFieldNode = modelNode.getChild(field);
 
       // now start to node handling
       if (fromFieldNode.getNodeType().equals(JsonNodeType.OBJECT) || fromFieldNode.getNodeType().equals(JsonNodeType.ARRAY)) {
@@ -2677,7 +4164,7 @@ public class JDocument implements Document {
             merge(toFieldNode, fromFieldNode, modelFieldNode);
           }
           else {
-            mergeArray((ArrayNode)toFieldNode, (ArrayNode)fromFieldNode, (ArrayNode)modelFieldNode, field);
+            mergeArray((ArrayNode)toFieldNode, (ArrayNode)fromFieldNode, modelFieldNode, field);
           }
         }
       }
@@ -2740,348 +4227,27 @@ public class JDocument implements Document {
     }
   }
 
-  private JsonNode getFormatNode(String type, String path, String format) {
-    JsonNode node = docModelPaths.get(format);
-    if (node == null) {
-      try {
-        node = objectMapper.readTree(format);
-        docModelPaths.put(format, node);
-      }
-      catch (IOException e) {
-        throw new UnifyException("jdoc_err_63", type, path, format);
-      }
-    }
-    return node;
-  }
-
-  private void throwExceptionOrSetErrorList(String errorCode, String path, List<String> errorList) {
-    if (errorList == null) {
-      throw new UnifyException(errorCode, path);
-    }
-    else {
-      String msg = ERRORS_JDOCS.getErrorMessage(errorCode);
-      if (msg.isEmpty() == false) {
-        msg = MessageFormat.format(msg, path);
-      }
-      errorList.add(msg);
-    }
-  }
-
-  private void validateField(String format, Object value, String path, List<String> errorList, String type) {
-    // "{\"field\":\"field_name\"}"
-    // mandatory if the field name is jdocs_arr_pk
-
-    // "{\"type\":\"string\"}"
-    // mandatory for all data types
-
-    // "{\"regex\":\"\\\\w{17,17}\"}" // just an example
-    // optional and applicable for all data types except date
-
-    // "{\"ignore_regex_if_empty_string\":true|false}"
-    // optional and applicable only for string data type as other data types cannot have an empty value
-    // if not specified, default is false
-
-    // "{\"null_allowed\":true|false}"
-    // optional and applicable for all data types
-    // if not specified, default is false
-
-    // "{\"empty_date_allowed\":true|false}"
-    // optional and applicable only for date type
-    // if not specified, default is false
-
-    // "{\"format\":\"uuuu-MM-dd HH:mm:ss.SSS GMT\"}" // just an example
-    // mandatory and applicable only for date data type.
-
-    // "{\"min_length\":10}" // just an example
-    // "{\"max_length\":20}" // just an example
-    // optional and applicable only for String type
-
-    // "{\"min_value\":10}" // just an example
-    // "{\"max_value\":20.00}" // just an example
-    // optional and applicable only for integer, long and decimal
-    // note that the value should match the data type
-
-    // "{\"min_date\":\"2025-01-01\"}" // just an example
-    // "{\"max_date\":\"2025-02-01\"}" // just an example
-    // optional and applicable only for date
-    // note that the value should match the date format specification
-
-    // get the model path node
-    JsonNode node = getFormatNode(type, path, format);
-
-    while (true) {
-      // check that the format field is specified if we are dealing with a date
-      DataType dataType = DataType.valueOf(node.get(CONSTS_JDOCS.FORMAT_FIELDS.TYPE).asText().toUpperCase());
-
-      // check that a date field has to have a format. Whether the format is correct or not will be validated later
-      if (dataType == DATE) {
-        String formatValue = node.get(CONSTS_JDOCS.FORMAT_FIELDS.FORMAT).asText();
-        if (formatValue.isEmpty() == true) {
-          throwExceptionOrSetErrorList("jdoc_err_71", path, errorList);
-          break;
-        }
-      }
-
-      // check for null_allowed
-      if (value == null) {
-        JsonNode node1 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.NULL_ALLOWED);
-        boolean isNullAllowed = false;
-        if (node1 != null) {
-          isNullAllowed = node.get(CONSTS_JDOCS.FORMAT_FIELDS.NULL_ALLOWED).booleanValue();
-        }
-        if (isNullAllowed == false) {
-          throwExceptionOrSetErrorList("jdoc_err_36", path, errorList);
-        }
-        break;
-      }
-
-      // check data types
-      switch (dataType) {
-        case STRING:
-        case DATE:
-          if ((value instanceof String) == false) {
-            throwExceptionOrSetErrorList("jdoc_err_37", path, errorList);
-          }
-          break;
-
-        case BOOLEAN:
-          if ((value instanceof Boolean) == false) {
-            throwExceptionOrSetErrorList("jdoc_err_37", path, errorList);
-          }
-          break;
-
-        case INTEGER:
-          if (((value instanceof Integer) == false)) {
-            throwExceptionOrSetErrorList("jdoc_err_37", path, errorList);
-          }
-          break;
-
-        case LONG:
-          if (((value instanceof Long) == false) && ((value instanceof Integer) == false)) {
-            throwExceptionOrSetErrorList("jdoc_err_37", path, errorList);
-          }
-          break;
-
-        case DECIMAL:
-          // Couchbase stores a decimal value of 10.00 as 10 in the json document
-          // hence when we read the document and construct the typed document we
-          // will need to check against int and long data types as well
-          if (((value instanceof BigDecimal) == false) && ((value instanceof Integer) == false) && ((value instanceof Long) == false)) {
-            throwExceptionOrSetErrorList("jdoc_err_37", path, errorList);
-          }
-          break;
-
-        default:
-          break;
-      }
-
-      // check for ignore_regex_if_empty_string
-      if (dataType == STRING) {
-        String s = value.toString();
-        if (s.isEmpty()) {
-          JsonNode node1 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.IGNORE_REGEX_IF_EMPTY_STRING);
-
-          // by default do not ignore. Historically we have been disallowing an empty string if it does not match
-          // regex pattern. The new requirement is to be able to ignore regex if the value is empty
-          boolean ignoreRegex = false;
-          if (node1 != null) {
-            ignoreRegex = node.get(CONSTS_JDOCS.FORMAT_FIELDS.IGNORE_REGEX_IF_EMPTY_STRING).booleanValue();
-          }
-          if (ignoreRegex == true) {
-            break;
-          }
-        }
-      }
-
-      // check for empty_date_allowed
-      if (dataType == DATE) {
-        String s = value.toString();
-        if (s.isEmpty()) {
-          JsonNode node1 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.EMPTY_DATE_ALLOWED);
-
-          // by default, we ignore. Historically we have been ignoring the format if an empty date value
-          // is provided. The new requirement is to not allow an empty date value
-          boolean emptyDateAllowed = true;
-          if (node1 != null) {
-            emptyDateAllowed = node.get(CONSTS_JDOCS.FORMAT_FIELDS.EMPTY_DATE_ALLOWED).booleanValue();
-          }
-          if (emptyDateAllowed == true) {
-            break;
-          }
-          else {
-            throwExceptionOrSetErrorList("jdoc_err_70", path, errorList);
-          }
-        }
-      }
-
-      // check for regex
-      switch (dataType) {
-        case STRING:
-        case BOOLEAN:
-        case INTEGER:
-        case LONG:
-        case DECIMAL: {
-          String s = value.toString();
-          JsonNode node1 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.REGEX);
-          if (node1 != null) {
-            String regex = node1.asText();
-            Pattern pattern = compiledPatterns.get(regex);
-            if (pattern == null) {
-              pattern = Pattern.compile(regex);
-              compiledPatterns.put(regex, pattern);
-            }
-            Matcher matcher = pattern.matcher(s);
-            boolean matches = matcher.matches();
-            if (matches == false) {
-              throwExceptionOrSetErrorList("jdoc_err_54", path, errorList);
-            }
-          }
-          break;
-        }
-
-        default:
-          break;
-      }
-
-      // check for format
-      String dateFormatValue = null;
-      if (dataType == DATE) {
-        // Match input date with the format provided
-        dateFormatValue = node.get(CONSTS_JDOCS.FORMAT_FIELDS.FORMAT).asText();
-        try {
-          DateTimeFormatter dfs = DateTimeFormatter.ofPattern(dateFormatValue).withResolverStyle(ResolverStyle.STRICT);
-          dfs.parse(value.toString());
-        }
-        catch (Exception e) {
-          throwExceptionOrSetErrorList("jdoc_err_51", path, errorList);
-        }
-      }
-
-      // check for min and max length
-      if (dataType == STRING) {
-        String s = value.toString();
-        int length = s.length();
-        JsonNode node1 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MIN_LENGTH);
-        JsonNode node2 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MAX_LENGTH);
-        if (node1 != null) {
-          int minLength = node1.asInt();
-          if (minLength > length) {
-            throwExceptionOrSetErrorList("jdoc_err_74", path, errorList);
-          }
-        }
-        if (node2 != null) {
-          int maxLength = node2.asInt();
-          if (maxLength < length) {
-            throwExceptionOrSetErrorList("jdoc_err_75", path, errorList);
-          }
-        }
-      }
-
-      // check for min and max value
-      switch (dataType) {
-        case INTEGER: {
-          Integer val = Integer.valueOf(value.toString());
-          JsonNode node1 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MIN_VALUE);
-          JsonNode node2 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MAX_VALUE);
-          if (node1 != null) {
-            int minValue = node1.asInt();
-            if (minValue > val) {
-              throwExceptionOrSetErrorList("jdoc_err_76", path, errorList);
-            }
-          }
-          if (node2 != null) {
-            int maxValue = node2.asInt();
-            if (maxValue < val) {
-              throwExceptionOrSetErrorList("jdoc_err_77", path, errorList);
-            }
-          }
-          break;
-        }
-
-        case LONG: {
-          Long val = Long.valueOf(value.toString());
-          JsonNode node1 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MIN_VALUE);
-          JsonNode node2 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MAX_VALUE);
-          if (node1 != null) {
-            long minValue = node1.asLong();
-            if (minValue > val) {
-              throwExceptionOrSetErrorList("jdoc_err_76", path, errorList);
-            }
-          }
-          if (node2 != null) {
-            long maxValue = node2.asLong();
-            if (maxValue < val) {
-              throwExceptionOrSetErrorList("jdoc_err_77", path, errorList);
-            }
-          }
-          break;
-        }
-
-        case DECIMAL: {
-          BigDecimal val = new BigDecimal(value.toString());
-          JsonNode node1 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MIN_VALUE);
-          JsonNode node2 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MAX_VALUE);
-          if (node1 != null) {
-            BigDecimal minValue = node1.decimalValue();
-            if (minValue.compareTo(val) > 0) {
-              throwExceptionOrSetErrorList("jdoc_err_76", path, errorList);
-            }
-          }
-          if (node2 != null) {
-            BigDecimal maxValue = node2.decimalValue();
-            if (maxValue.compareTo(val) < 0) {
-              throwExceptionOrSetErrorList("jdoc_err_77", path, errorList);
-            }
-          }
-          break;
-        }
-
-        default:
-          break;
-      }
-
-      // check for min and max date
-      if (dataType == DATE) {
-        Instant val = BaseUtils.getInstantFromString(value.toString(), dateFormatValue);
-        JsonNode node1 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MIN_DATE);
-        JsonNode node2 = node.get(CONSTS_JDOCS.FORMAT_FIELDS.MAX_DATE);
-        if (node1 != null) {
-          Instant minValue = BaseUtils.getInstantFromString(node1.asText(), dateFormatValue);
-          if (minValue.compareTo(val) > 0) {
-            throwExceptionOrSetErrorList("jdoc_err_78", path, errorList);
-          }
-        }
-        if (node2 != null) {
-          Instant maxValue = BaseUtils.getInstantFromString(node2.asText(), dateFormatValue);
-          if (maxValue.compareTo(val) < 0) {
-            throwExceptionOrSetErrorList("jdoc_err_79", path, errorList);
-          }
-        }
-        break;
-      }
-
-      break;
-    }
+  private void validateFilterNames(String path, List<Token> tokenList, String type) {
+    validateFilterNames(path, tokenList, getRootModelNode(type), type);
   }
 
-  private void validateFilterNames(String path, List<Token> tokenList, String type) {
-    String tokenPath = "$";
+  // mn is the model node from where the tokens start
+  private void validateFilterNames(String path, List<Token> tokenList, ModelNode mn, String type) {
+    // the model node corresponding to the token being processed, null once the path leaves the model
 
     for (int i = 0; i < tokenList.size(); i++) {
       Token token = tokenList.get(i);
-      tokenPath = tokenPath + "." + token.getField();
-      if (token.isArray() == true) {
-        tokenPath = tokenPath + "[0]";
+      if (token.isArray() == false) {
+        mn = (mn == null) ? null : mn.getChild(token.getField());
+      }
+      else {
+        mn = (mn == null) ? null : mn.getArrayElement(token.getField());
         ArrayToken arrayToken = (ArrayToken)token;
         ArrayToken.Filter filter = arrayToken.getFilter();
         if (filter.getType() == ArrayToken.FilterType.NAME_VALUE) {
           String fieldName = filter.getField();
           String fieldValue = filter.getValue();
-          String modelPath = tokenPath + "." + fieldName;
-          String format = getFieldFormat(path, modelPath, false, type);
-
-          JsonNode node = getFormatNode(type, modelPath, format);
-          DataType dataType = DataType.valueOf(node.get(CONSTS_JDOCS.FORMAT_FIELDS.TYPE).asText().toUpperCase());
+          DataType dataType = getFieldValidator(path, (mn == null) ? null : mn.getChild(fieldName), type).getDataType();
 
           // this value is not used anywhere except to make sure that no exception is thrown in this method
 
@@ -3133,16 +4299,17 @@ public class JDocument implements Document {
     }
   }
 
-  private JsonNode validatePath(Document doc, String path, String type) {
-    JsonNode modelNode = null;
-    JDocument jd = (JDocument)doc;
+  private ModelNode validatePath(Document doc, String path, String type) {
+    ModelNode modelNode = null;
+    JDocument jd = toJDocument(doc);
     if (jd.isTyped()) {
-      Document modelDoc = docModels.get(type);
-      String modelPath = getModelPath(path);
-      modelNode = ((JDocument)modelDoc).getJsonNode(modelPath);
-      if (modelNode == null) {
+      // the root of the document corresponds to the root of the model
+      List<Token> tokenList = jd.parse(path);
+      ModelNode mn = tokenList.isEmpty() ? jd.getRootModelNode(type) : jd.getRootModelNode(type).resolve(tokenList);
+      if (mn == null) {
         throw new UnifyException("jdoc_err_38", type, path);
       }
+      modelNode = mn;
     }
 
     return modelNode;
@@ -3162,13 +4329,13 @@ public class JDocument implements Document {
     String toBasePath = toPath + ".";
 
     // validate the path that we want to write to
-    JsonNode toModelNode = validatePath(this, toPath, toType);
+    ModelNode toModelNode = validatePath(this, toPath, toType);
 
     // now validate the path we want to read from
     validatePath(fromDoc, fromPath, fromType);
 
     // get the node to copy
-    JsonNode fromDocNode = ((JDocument)fromDoc).getJsonNode(fromPath);
+    JsonNode fromDocNode = toJDocument(fromDoc).getJsonNode(fromPath);
     if (fromDocNode == null) {
       throw new UnifyException("jdoc_err_41", fromPath);
     }
@@ -3179,119 +4346,213 @@ public class JDocument implements Document {
     processErrors(errorList);
   }
 
-  private List<String> validate(JsonNode modelNode, JsonNode docNode, String basePath, String type, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
+  private static List<String> validate(ModelNode modelNode, JsonNode docNode, String basePath, String type, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
     // function that invokes the recursive validation
     List<String> errorList = new ArrayList<>();
-    validate(modelNode, docNode, basePath, errorList, type, validationType);
-    return errorList;
-  }
 
-  private void validate(JsonNode modelNode, JsonNode docNode, String basePath, List<String> errorList, String type, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
     // special handling in case the document starts with an array
-    if ((modelNode.getNodeType().equals(JsonNodeType.ARRAY) == true) && (basePath.equals("$."))) {
-      modelNode = modelNode.get(0);
+    if ((modelNode.isArray() == true) && (basePath.equals("$."))) {
+      modelNode = modelNode.getElement();
     }
 
+    validate(modelNode, docNode, new PathStack(basePath), errorList, type, validationType);
+    return errorList;
+  }
+
+  // the path of the node is tracked in a stack that is only rendered as a string when an error is recorded
+  private static void validate(ModelNode modelNode, JsonNode docNode, PathStack path, List<String> errorList, String type, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
     // if the docNode is an array node then it will not have any fields, and we need to handle it differently
     if (docNode.getNodeType() == JsonNodeType.ARRAY) {
-      // running a loop for all elements of the updated ArrayNode
-      for (int i = 0; i < docNode.size(); i++) {
-        JsonNode docChildNode = docNode.get(i);
-        JsonNode dmChildNode = modelNode;
-        validate(dmChildNode, docChildNode, basePath + "[" + i + "]" + ".", errorList, type, validationType);
-      }
+      validateElements(modelNode, docNode, path, errorList, type, validationType);
     }
     else {
+      int threshold = parallelValidationThreshold;
+      if ((threshold > 0) && (docNode.size() > threshold)) {
+        List<Map.Entry<String, JsonNode>> fields = new ArrayList<>(docNode.properties());
+        errorList.addAll(new ValidationTask(modelNode, docNode, fields, path, 0, fields.size(), threshold, type, validationType).invoke());
+        return;
+      }
+
       // recursive function to validate the document
-      Iterator<String> fieldNames = docNode.fieldNames();
-
-      while (fieldNames.hasNext()) {
-        String docFieldName = fieldNames.next();
-        JsonNode docFieldNode = docNode.get(docFieldName);
-        JsonNode modelFieldNode = modelNode.get(docFieldName);
-
-        loop:
-        while (true) {
-          if (modelFieldNode == null) {
-            // means that the field is not found in the data model
-            if (validationType == CONSTS_JDOCS.VALIDATION_TYPE.ALL_DATA_PATHS) {
-              errorList.add(basePath + docFieldName + " -> path not found in data model -> " + type);
-              break loop;
+      for (Map.Entry<String, JsonNode> field : docNode.properties()) {
+        validateField(modelNode, field.getKey(), field.getValue(), path, errorList, type, validationType);
+      }
+    }
+  }
+
+  // validates all elements of an array against the model node of the elements
+  private static void validateElements(ModelNode modelNode, JsonNode docNode, PathStack path, List<String> errorList, String type, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
+    int threshold = parallelValidationThreshold;
+    if ((threshold > 0) && (docNode.size() > threshold)) {
+      errorList.addAll(new ValidationTask(modelNode, docNode, null, path, 0, docNode.size(), threshold, type, validationType).invoke());
+      return;
+    }
+
+    // running a loop for all elements of the updated ArrayNode
+    path.pushIndex(0);
+    for (int i = 0; i < docNode.size(); i++) {
+      path.setIndex(i);
+      validate(modelNode, docNode.get(i), path, errorList, type, validationType);
+    }
+    path.pop();
+  }
+
+  private static void validateField(ModelNode modelNode, String docFieldName, JsonNode docFieldNode, PathStack path, List<String> errorList, String type, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
+    ModelNode modelFieldNode = modelNode.getChild(docFieldName);
+    path.pushField(docFieldName);
+
+    loop:
+    while (true) {
+      if (modelFieldNode == null) {
+        // means that the field is not found in the data model
+        if (validationType == CONSTS_JDOCS.VALIDATION_TYPE.ALL_DATA_PATHS) {
+          errorList.add(path + " -> path not found in data model -> " + type);
+          break loop;
+        }
+        else {
+          // we continue to the next path as we are not going to be validating paths not found in the model
+          break;
+        }
+      }
+
+      // if node is an @ArrayNode
+      if (docFieldNode.isArray() && modelFieldNode.isArray()) {
+        validateElements(modelFieldNode.getElement(), docFieldNode, path, errorList, type, validationType);
+        break loop;
+      }
+
+      if (docFieldNode.isObject() && modelFieldNode.isObject()) {
+        validate(modelFieldNode, docFieldNode, path, errorList, type, validationType);
+        break loop;
+      }
+
+      if (docFieldNode instanceof ValueNode) {
+        // we have reached a property object
+        FieldValidator fv = modelFieldNode.getValidator(type, path);
+        switch (docFieldNode.getNodeType()) {
+          case BOOLEAN:
+            fv.validate(docFieldNode.asBoolean(), path, errorList);
+            break;
+
+          case NUMBER:
+            if (docFieldNode.isInt()) {
+              fv.validate(docFieldNode.asInt(), path, errorList);
+            }
+            else if (docFieldNode.isLong()) {
+              fv.validate(docFieldNode.asLong(), path, errorList);
+            }
+            else if (docFieldNode.isDouble()) {
+              fv.validate(docFieldNode.decimalValue(), path, errorList);
+            }
+            else if (docFieldNode.isBigDecimal()) {
+              fv.validate(docFieldNode.decimalValue(), path, errorList);
             }
             else {
-              // we continue to the next path as we are not going to be validating paths not found in the model
-              break;
+              throw new UnifyException("jdoc_err_44", path.toString(), docFieldNode.toString());
             }
-          }
+            break;
 
-          // if node is an @ArrayNode
-          if (docFieldNode.isArray() && modelFieldNode.isArray()) {
-            // running a loop for all elements of the updated ArrayNode
-            for (int i = 0; i < docFieldNode.size(); i++) {
-              JsonNode docChildNode = docFieldNode.get(i);
-              JsonNode dmChildNode = modelFieldNode.get(0);
-              validate(dmChildNode, docChildNode, basePath + docFieldName + "[" + i + "]" + ".", errorList, type, validationType);
-            }
-            break loop;
-          }
+          case STRING:
+            fv.validate(docFieldNode.asText(), path, errorList);
+            break;
 
-          if (docFieldNode.isObject() && modelFieldNode.isObject()) {
-            validate(modelFieldNode, docFieldNode, basePath + docFieldName + ".", errorList, type, validationType);
-            break loop;
-          }
+          case NULL:
+            fv.validate(null, path, errorList);
+            break;
 
-          if (docFieldNode instanceof ValueNode) {
-            // we have reached a property object
-            switch (docFieldNode.getNodeType()) {
-              case BOOLEAN:
-                validateField(modelFieldNode.asText(), docFieldNode.asBoolean(), basePath + docFieldName, errorList, type);
-                break;
+          default:
+            throw new UnifyException("jdoc_err_42", type, path.toString());
+        }
 
-              case NUMBER:
-                if (docFieldNode.isInt()) {
-                  validateField(modelFieldNode.asText(), docFieldNode.asInt(), basePath + docFieldName, errorList, type);
-                }
-                else if (docFieldNode.isLong()) {
-                  validateField(modelFieldNode.asText(), docFieldNode.asLong(), basePath + docFieldName, errorList, type);
-                }
-                else if (docFieldNode.isDouble()) {
-                  validateField(modelFieldNode.asText(), docFieldNode.decimalValue(), basePath + docFieldName, errorList, type);
-                }
-                else if (docFieldNode.isBigDecimal()) {
-                  validateField(modelFieldNode.asText(), docFieldNode.decimalValue(), basePath + docFieldName, errorList, type);
-                }
-                else {
-                  throw new UnifyException("jdoc_err_44", basePath + docFieldName, docFieldNode.toString());
-                }
-                break;
+        break loop;
+      }
 
-              case STRING:
-                validateField(modelFieldNode.asText(), docFieldNode.asText(), basePath + docFieldName, errorList, type);
-                break;
+      errorList.add(path + " -> mismatch in object type between document and data model -> " + type);
+      break loop;
+    }
 
-              case NULL:
-                validateField(modelFieldNode.asText(), null, basePath + docFieldName, errorList, type);
-                break;
+    path.pop();
+  }
 
-              default:
-                throw new UnifyException("jdoc_err_42", type, basePath + docFieldName);
-            }
+  /*
+   * Validates a range of the elements of an array or of the fields of an object. A range larger than the
+   * threshold is split into two halves that are validated in parallel. Each task records its errors in its
+   * own list and the lists are joined in the order of the ranges so that the errors are reported in document
+   * order, the same as in a sequential validation
+   */
+  private static class ValidationTask extends RecursiveTask<List<String>> {
 
-            break loop;
-          }
+    private static final long serialVersionUID = 1L;
 
-          errorList.add(basePath + docFieldName + " -> mismatch in object type between document and data model -> " + type);
-          break loop;
+    // the model of the elements of an array or the model of an object
+    private final ModelNode modelNode;
+
+    private final JsonNode docNode;
+
+    // the fields of the object, null for an array
+    private final List<Map.Entry<String, JsonNode>> fields;
+
+    // the path of the container which is copied as each task tracks its own path
+    private final PathStack path;
+
+    private final int start;
+
+    private final int end;
+
+    private final int threshold;
+
+    private final String type;
+
+    private final CONSTS_JDOCS.VALIDATION_TYPE validationType;
+
+    ValidationTask(ModelNode modelNode, JsonNode docNode, List<Map.Entry<String, JsonNode>> fields, PathStack path, int start, int end, int threshold, String type, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
+      this.modelNode = modelNode;
+      this.docNode = docNode;
+      this.fields = fields;
+      this.path = path;
+      this.start = start;
+      this.end = end;
+      this.threshold = threshold;
+      this.type = type;
+      this.validationType = validationType;
+    }
+
+    @Override
+    protected List<String> compute() {
+      if ((end - start) > threshold) {
+        int mid = (start + end) >>> 1;
+        ValidationTask left = new ValidationTask(modelNode, docNode, fields, path, start, mid, threshold, type, validationType);
+        ValidationTask right = new ValidationTask(modelNode, docNode, fields, path, mid, end, threshold, type, validationType);
+        left.fork();
+        List<String> rightErrors = right.compute();
+        List<String> errorList = left.join();
+        errorList.addAll(rightErrors);
+        return errorList;
+      }
+
+      List<String> errorList = new ArrayList<>();
+      PathStack path = new PathStack(this.path);
+      if (fields == null) {
+        path.pushIndex(start);
+        for (int i = start; i < end; i++) {
+          path.setIndex(i);
+          validate(modelNode, docNode.get(i), path, errorList, type, validationType);
+        }
+      }
+      else {
+        for (int i = start; i < end; i++) {
+          Map.Entry<String, JsonNode> field = fields.get(i);
+          validateField(modelNode, field.getKey(), field.getValue(), path, errorList, type, validationType);
         }
       }
+      return errorList;
     }
+
   }
 
   // protected as this method is called from the base class
-  private void setFilterFieldNode(ObjectNode filterNode, String filterField, String filterValue, String path, String modelPath, String type) {
-    String format = getFieldFormat(path, modelPath, false, type);
-    JsonNode node = getFormatNode(type, modelPath, format);
-    DataType dataType = DataType.valueOf(node.get(CONSTS_JDOCS.FORMAT_FIELDS.TYPE).asText().toUpperCase());
+  private void setFilterFieldNode(ObjectNode filterNode, String filterField, String filterValue, String path, ModelNode mn, String type) {
+    DataType dataType = getFieldValidator(path, mn, type).getDataType();
 
     try {
       switch (dataType) {
@@ -3349,7 +4610,7 @@ public class JDocument implements Document {
     // this function will provide a list of all paths in the document
     List<PathValue> list = new LinkedList<>();
     List<String> list1 = new LinkedList<>();
-    getJsonPaths(list, rootNode, "$", false, docType);
+    getJsonPaths(list, rootNode, "$", null, false, docType);
     list.stream().forEach(s -> list1.add(s.getPath()));
     return list1;
   }
@@ -3363,7 +4624,7 @@ public class JDocument implements Document {
   public List<PathValue> flattenWithValues() {
     // this function will provide a list of all paths in the document along with the value as a string
     List<PathValue> list = new LinkedList<>();
-    getJsonPaths(list, rootNode, "$", true, docType);
+    getJsonPaths(list, rootNode, "$", (isTyped() ? getRootModelNode(docType) : null), true, docType);
     return list;
   }
 
@@ -3372,23 +4633,31 @@ public class JDocument implements Document {
    */
   @Override
   public void removeNullsAndEmpty(boolean removeNullFields, boolean removeEmptyObjects, boolean removeEmptyArrays) {
-    removeNullsAndEmpty(rootNode, null, "", removeNullFields, removeEmptyObjects, removeEmptyArrays);
+    arrayIndexes.clear();
+    try {
+      removeNullsAndEmpty(rootNode, null, "", removeNullFields, removeEmptyObjects, removeEmptyArrays);
+    }
+    finally {
+      invalidateSerializedForm();
+    }
   }
 
-  private void getJsonPaths(List<PathValue> list, JsonNode rootNode, String path, boolean getValue, String type) {
+  // the model node is tracked alongside the path only when the type of the values is needed from the model
+  private void getJsonPaths(List<PathValue> list, JsonNode rootNode, String path, ModelNode mn, boolean getValue, String type) {
     JsonNodeType nodeType = rootNode.getNodeType();
     if ((nodeType != JsonNodeType.ARRAY) && (nodeType != JsonNodeType.OBJECT)) {
       // it is an array value node
-      processValueNode(list, path, "", rootNode, getValue, type);
+      processValueNode(list, path, mn, "", rootNode, getValue, type);
     }
     else {
       switch (rootNode.getNodeType()) {
         case ARRAY: {
           int size = rootNode.size();
+          ModelNode emn = ((mn == null) || (size == 0)) ? null : mn.getArrayElement("");
           for (int i = 0; i < size; i++) {
             JsonNode node = rootNode.get(i);
             // recurse
-            getJsonPaths(list, node, path + "." + "[" + i + "]", getValue, type);
+            getJsonPaths(list, node, path + "." + "[" + i + "]", emn, getValue, type);
           }
         }
         break;
@@ -3403,19 +4672,20 @@ public class JDocument implements Document {
             switch (fieldNode.getNodeType()) {
               case ARRAY: {
                 int size = fieldNode.size();
+                ModelNode emn = ((mn == null) || (size == 0)) ? null : mn.getArrayElement(fieldName);
                 for (int i = 0; i < size; i++) {
                   JsonNode node = fieldNode.get(i);
-                  getJsonPaths(list, node, path + "." + fieldName + "[" + i + "]", getValue, type);
+                  getJsonPaths(list, node, path + "." + fieldName + "[" + i + "]", emn, getValue, type);
                 }
               }
               break;
 
               case OBJECT:
-                getJsonPaths(list, fieldNode, path + "." + fieldName, getValue, type);
+                getJsonPaths(list, fieldNode, path + "." + fieldName, ((mn == null) ? null : mn.getChild(fieldName)), getValue, type);
                 break;
 
               default:
-                processValueNode(list, path, fieldName, fieldNode, getValue, type);
+                processValueNode(list, path, mn, fieldName, fieldNode, getValue, type);
                 break;
             }
           }
@@ -3478,7 +4748,7 @@ public class JDocument implements Document {
     }
   }
 
-  private void processValueNode(List<PathValue> list, String path, String fieldName, JsonNode fieldNode, boolean getValue, String type) {
+  private void processValueNode(List<PathValue> list, String path, ModelNode mn, String fieldName, JsonNode fieldNode, boolean getValue, String type) {
     Object value = null;
     DataType dt = null;
 
@@ -3488,15 +4758,10 @@ public class JDocument implements Document {
 
     if (getValue == true) {
       if (isTyped() == true) {
-        String mp = getModelPath(path);
-        boolean isValueArray = false;
-        if (path.charAt(path.length() - 1) == ']') {
-          isValueArray = true;
+        if ((fieldName.isEmpty() == false) && (mn != null)) {
+          mn = mn.getChild(fieldName);
         }
-        String format = getFieldFormat(path, mp, isValueArray, type);
-        JsonNode node = getFormatNode(type, path, format);
-        String dataType = node.get(CONSTS_JDOCS.FORMAT_FIELDS.TYPE).asText();
-        dt = DataType.valueOf(dataType.toUpperCase());
+        dt = getFieldValidator(path, mn, type).getDataType();
       }
       else {
         switch (fieldNode.getNodeType()) {
@@ -3669,11 +4934,7 @@ public class JDocument implements Document {
   @Override
   public void validateAllPaths(String type) {
     // function to validate the contents of the document. We will validate all data paths against the model
-    Document md = docModels.get(type);
-    if (md == null) {
-      throw new UnifyException("jdoc_err_29", type);
-    }
-    List<String> errorList = validate(((JDocument)md).rootNode, rootNode, "$.", type, CONSTS_JDOCS.VALIDATION_TYPE.ALL_DATA_PATHS);
+    List<String> errorList = validate(getRootModelNode(type), rootNode, "$.", type, CONSTS_JDOCS.VALIDATION_TYPE.ALL_DATA_PATHS);
     processErrors(errorList);
     if (isTyped() == true) {
       isValidated = true;
@@ -3688,11 +4949,7 @@ public class JDocument implements Document {
   @Override
   public void validateModelPaths(String type) {
     // function to validate the contents of the document. We will validate only those data paths that are found in the model
-    Document md = docModels.get(type);
-    if (md == null) {
-      throw new UnifyException("jdoc_err_29", type);
-    }
-    List<String> errorList = validate(((JDocument)md).rootNode, rootNode, "$.", type, CONSTS_JDOCS.VALIDATION_TYPE.ONLY_MODEL_PATHS);
+    List<String> errorList = validate(getRootModelNode(type), rootNode, "$.", type, CONSTS_JDOCS.VALIDATION_TYPE.ONLY_MODEL_PATHS);
     processErrors(errorList);
     if (isTyped() == true) {
       isValidated = true;
@@ -3711,6 +4968,18 @@ public class JDocument implements Document {
     return maxStringLength;
   }
 
+  public static int getPathCacheSize() {
+    return (pathCache == null) ? 0 : pathCache.getMaxSize();
+  }
+
+  public static long getPathCacheHitCount() {
+    return (pathCache == null) ? 0 : pathCache.getHitCount();
+  }
+
+  public static long getPathCacheMissCount() {
+    return (pathCache == null) ? 0 : pathCache.getMissCount();
+  }
+
   public static boolean isInitialized() {
     return isInitialized;
   }
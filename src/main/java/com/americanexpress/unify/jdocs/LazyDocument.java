@@ -0,0 +1,807 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import com.americanexpress.unify.base.BaseUtils;
+import com.americanexpress.unify.base.UnifyException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A document that is parsed on first use. The document holds the bytes of its JSON and only parses them when a
+ * method that needs the content of the document is called. The type of the document is known without parsing it.
+ * Till the document is written to, the compact forms of its JSON returned by getJson, toBytes and writeTo are the
+ * original JSON as is so that a document that is only read and passed on is not serialized again. A document of
+ * which only the type is read is never parsed. Along with the validation type ONLY_AT_READ_WRITE, the values that
+ * are read are validated but the rest of the document is not.
+ *
+ * For any other validation type, a typed document is validated when it is parsed and so a document that is not
+ * valid only fails on first use. The bytes need to be JSON encoded in UTF-8 and must not be changed once the
+ * document has been constructed.
+ */
+public class LazyDocument implements Document {
+
+  private final byte[] bytes;
+
+  // the type of the document, null for a base document
+  private final String type;
+
+  private final CONSTS_JDOCS.VALIDATION_TYPE validationType;
+
+  // the parsed document, null till the document is first used
+  private volatile JDocument d = null;
+
+  // true once the document may have been written to after which its json is generated from the parsed document
+  private volatile boolean isModified = false;
+
+  /**
+   * Constructs a base document from the JSON in the bytes
+   *
+   * @param bytes The bytes containing the JSON
+   */
+  public LazyDocument(byte[] bytes) {
+    this(null, bytes, null, false);
+  }
+
+  /**
+   * Constructs a typed document from the JSON in the bytes using the default validation type
+   *
+   * @param type  The type of the document
+   * @param bytes The bytes containing the JSON
+   */
+  public LazyDocument(String type, byte[] bytes) {
+    this(type, bytes, JDocument.getDefaultValidationType());
+  }
+
+  /**
+   * Constructs a typed document from the JSON in the bytes
+   *
+   * @param type           The type of the document
+   * @param bytes          The bytes containing the JSON
+   * @param validationType The validation type to use when the document is parsed
+   */
+  public LazyDocument(String type, byte[] bytes, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
+    this(type, bytes, validationType, true);
+  }
+
+  private LazyDocument(String type, byte[] bytes, CONSTS_JDOCS.VALIDATION_TYPE validationType, boolean isTyped) {
+    if ((isTyped == true) && (BaseUtils.isNullOrEmpty(type) == true)) {
+      throw new UnifyException("jdoc_err_56");
+    }
+    this.type = type;
+    this.bytes = bytes;
+    this.validationType = validationType;
+  }
+
+  /**
+   * Tells if the JSON of the document has been parsed
+   *
+   * @return true if the document has been parsed
+   */
+  public boolean isParsed() {
+    return (d != null);
+  }
+
+  // the parsed document, parsed on first use. A document may be read by more than one thread
+  JDocument getDocument() {
+    JDocument d1 = d;
+    if (d1 == null) {
+      synchronized (this) {
+        d1 = d;
+        if (d1 == null) {
+          d1 = (type == null) ? JDocument.fromBytes(bytes, 0, bytes.length) : JDocument.fromBytes(type, bytes, 0, bytes.length, validationType);
+          d = d1;
+        }
+      }
+    }
+    return d1;
+  }
+
+  private JDocument getWritableDocument() {
+    isModified = true;
+    return getDocument();
+  }
+
+  @Override
+  public void deletePath(String path, String... vargs) {
+    getWritableDocument().deletePath(path, vargs);
+  }
+
+  @Override
+  public void deletePaths(List<String> pathsToDelete) {
+    getWritableDocument().deletePaths(pathsToDelete);
+  }
+
+  @Override
+  public boolean isTyped() {
+    // the type of a parsed document may have been set after it was constructed
+    JDocument d1 = d;
+    return (d1 == null) ? (type != null) : d1.isTyped();
+  }
+
+  @Override
+  public String getType() {
+    JDocument d1 = d;
+    if (d1 == null) {
+      return (type == null) ? "" : type;
+    }
+    return d1.getType();
+  }
+
+  @Override
+  public DataType getLeafNodeDataType(String path, String... vargs) {
+    return getDocument().getLeafNodeDataType(path, vargs);
+  }
+
+  @Override
+  public DataType getArrayValueLeafNodeDataType(String path, String... vargs) {
+    return getDocument().getArrayValueLeafNodeDataType(path, vargs);
+  }
+
+  @Override
+  public void setType(String type) {
+    getWritableDocument().setType(type);
+  }
+
+  @Override
+  public void setType(String type, CONSTS_JDOCS.VALIDATION_TYPE validationType) {
+    getWritableDocument().setType(type, validationType);
+  }
+
+  @Override
+  public void empty() {
+    getWritableDocument().empty();
+  }
+
+  @Override
+  public int getArraySize(String path, String... vargs) {
+    return getDocument().getArraySize(path, vargs);
+  }
+
+  @Override
+  public ArrayCursor getArrayCursor(String path, String... vargs) {
+    // values can be written through the cursor
+    return getWritableDocument().getArrayCursor(path, vargs);
+  }
+
+  @Override
+  public int getArrayIndex(String path, String... vargs) {
+    return getDocument().getArrayIndex(path, vargs);
+  }
+
+  @Override
+  public Boolean getBoolean(String path, String... vargs) {
+    return getDocument().getBoolean(path, vargs);
+  }
+
+  @Override
+  public Integer getInteger(String path, String... vargs) {
+    return getDocument().getInteger(path, vargs);
+  }
+
+  @Override
+  public String getJson() {
+    return (isModified == false) ? new String(bytes, StandardCharsets.UTF_8) : getDocument().getJson();
+  }
+
+  @Override
+  public Long getLong(String path, String... vargs) {
+    return getDocument().getLong(path, vargs);
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(String path, String... vargs) {
+    return getDocument().getBigDecimal(path, vargs);
+  }
+
+  @Override
+  public int getInt(String path, int defaultValue, String... vargs) {
+    return getDocument().getInt(path, defaultValue, vargs);
+  }
+
+  @Override
+  public long getLong(String path, long defaultValue, String... vargs) {
+    return getDocument().getLong(path, defaultValue, vargs);
+  }
+
+  @Override
+  public boolean getBool(String path, boolean defaultValue, String... vargs) {
+    return getDocument().getBool(path, defaultValue, vargs);
+  }
+
+  @Override
+  public double getDouble(String path, double defaultValue, String... vargs) {
+    return getDocument().getDouble(path, defaultValue, vargs);
+  }
+
+  @Override
+  public Boolean getArrayValueBoolean(String path, String... vargs) {
+    return getDocument().getArrayValueBoolean(path, vargs);
+  }
+
+  @Override
+  public Integer getArrayValueInteger(String path, String... vargs) {
+    return getDocument().getArrayValueInteger(path, vargs);
+  }
+
+  @Override
+  public String getArrayValueString(String path, String... vargs) {
+    return getDocument().getArrayValueString(path, vargs);
+  }
+
+  @Override
+  public Long getArrayValueLong(String path, String... vargs) {
+    return getDocument().getArrayValueLong(path, vargs);
+  }
+
+  @Override
+  public BigDecimal getArrayValueBigDecimal(String path, String... vargs) {
+    return getDocument().getArrayValueBigDecimal(path, vargs);
+  }
+
+  @Override
+  public String getPrettyPrintJson() {
+    return getDocument().getPrettyPrintJson();
+  }
+
+  @Override
+  public void writeTo(OutputStream os) {
+    if (isModified == true) {
+      getDocument().writeTo(os);
+      return;
+    }
+
+    try {
+      os.write(bytes);
+      os.flush();
+    }
+    catch (IOException ex) {
+      throw new UnifyException("jdoc_err_1", ex);
+    }
+  }
+
+  @Override
+  public void writeTo(OutputStream os, boolean prettyPrint) {
+    if (prettyPrint == false) {
+      writeTo(os);
+    }
+    else {
+      getDocument().writeTo(os, true);
+    }
+  }
+
+  @Override
+  public void writeTo(Writer writer) {
+    if (isModified == true) {
+      getDocument().writeTo(writer);
+      return;
+    }
+
+    try {
+      writer.write(getJson());
+      writer.flush();
+    }
+    catch (IOException ex) {
+      throw new UnifyException("jdoc_err_1", ex);
+    }
+  }
+
+  @Override
+  public void writeTo(Writer writer, boolean prettyPrint) {
+    if (prettyPrint == false) {
+      writeTo(writer);
+    }
+    else {
+      getDocument().writeTo(writer, true);
+    }
+  }
+
+  @Override
+  public void writeTo(ByteBuffer buffer) {
+    if (isModified == true) {
+      getDocument().writeTo(buffer);
+      return;
+    }
+
+    if (bytes.length > buffer.remaining()) {
+      throw new UnifyException("jdoc_err_93", String.valueOf(buffer.remaining()));
+    }
+    buffer.put(bytes);
+  }
+
+  @Override
+  public void writeTo(ByteBuffer buffer, boolean prettyPrint) {
+    if (prettyPrint == false) {
+      writeTo(buffer);
+    }
+    else {
+      getDocument().writeTo(buffer, true);
+    }
+  }
+
+  @Override
+  public byte[] toBytes() {
+    // the bytes are copied as they may be changed by the caller
+    return (isModified == false) ? bytes.clone() : getDocument().toBytes();
+  }
+
+  @Override
+  public byte[] toBytes(boolean prettyPrint) {
+    return (prettyPrint == false) ? toBytes() : getDocument().toBytes(true);
+  }
+
+  @Override
+  public byte[] toBinary() {
+    return getDocument().toBinary();
+  }
+
+  @Override
+  public void writeBinaryTo(OutputStream os) {
+    getDocument().writeBinaryTo(os);
+  }
+
+  @Override
+  public Object getValue(String path, String... vargs) {
+    return getDocument().getValue(path, vargs);
+  }
+
+  @Override
+  public Map<String, Object> getValues(Collection<String> paths) {
+    return getDocument().getValues(paths);
+  }
+
+  @Override
+  public Object getArrayValue(String path, String... vargs) {
+    return getDocument().getArrayValue(path, vargs);
+  }
+
+  @Override
+  public String getString(String path, String... vargs) {
+    return getDocument().getString(path, vargs);
+  }
+
+  @Override
+  public boolean pathExists(String path, String... vargs) {
+    return getDocument().pathExists(path, vargs);
+  }
+
+  @Override
+  public boolean isArray(String path, String... vargs) {
+    return getDocument().isArray(path, vargs);
+  }
+
+  @Override
+  public Document getDocument(String path, String... vargs) {
+    return getDocument().getDocument(path, vargs);
+  }
+
+  @Override
+  public Document getDocumentView(String path, boolean isReadOnly, String... vargs) {
+    // writes to a view that is not read only are made in this document
+    JDocument d1 = (isReadOnly == true) ? getDocument() : getWritableDocument();
+    return d1.getDocumentView(path, isReadOnly, vargs);
+  }
+
+  @Override
+  public Document getContent(String path, boolean returnTypedDocument, boolean includeFullPath, String... vargs) {
+    return getDocument().getContent(path, returnTypedDocument, includeFullPath, vargs);
+  }
+
+  @Override
+  public void setBoolean(String path, boolean value, String... vargs) {
+    getWritableDocument().setBoolean(path, value, vargs);
+  }
+
+  @Override
+  public void setContent(Document fromDoc, String fromPath, String toPath, String... vargs) {
+    getWritableDocument().setContent(fromDoc, fromPath, toPath, vargs);
+  }
+
+  @Override
+  public void setInteger(String path, int value, String... vargs) {
+    getWritableDocument().setInteger(path, value, vargs);
+  }
+
+  @Override
+  public void setLong(String path, long value, String... vargs) {
+    getWritableDocument().setLong(path, value, vargs);
+  }
+
+  @Override
+  public void setBigDecimal(String path, BigDecimal value, String... vargs) {
+    getWritableDocument().setBigDecimal(path, value, vargs);
+  }
+
+  @Override
+  public void edit(Consumer<DocumentEdit> editor) {
+    getWritableDocument().edit(editor);
+  }
+
+  @Override
+  public void setString(String path, String value, String... vargs) {
+    getWritableDocument().setString(path, value, vargs);
+  }
+
+  @Override
+  public void setArrayValueBoolean(String path, boolean value, String... vargs) {
+    getWritableDocument().setArrayValueBoolean(path, value, vargs);
+  }
+
+  @Override
+  public void setArrayValueInteger(String path, int value, String... vargs) {
+    getWritableDocument().setArrayValueInteger(path, value, vargs);
+  }
+
+  @Override
+  public void setArrayValueLong(String path, long value, String... vargs) {
+    getWritableDocument().setArrayValueLong(path, value, vargs);
+  }
+
+  @Override
+  public void setArrayValueBigDecimal(String path, BigDecimal value, String... vargs) {
+    getWritableDocument().setArrayValueBigDecimal(path, value, vargs);
+  }
+
+  @Override
+  public void appendArrayValues(String path, Collection<?> values, String... vargs) {
+    getWritableDocument().appendArrayValues(path, values, vargs);
+  }
+
+  @Override
+  public void setArrayValues(String path, Collection<?> values, String... vargs) {
+    getWritableDocument().setArrayValues(path, values, vargs);
+  }
+
+  @Override
+  public void appendElements(String path, List<Document> docs, String... vargs) {
+    getWritableDocument().appendElements(path, docs, vargs);
+  }
+
+  @Override
+  public void setArrayValueString(String path, String value, String... vargs) {
+    getWritableDocument().setArrayValueString(path, value, vargs);
+  }
+
+  @Override
+  public Document deepCopy() {
+    // a copy of a document that has not been parsed is also parsed on first use
+    return (d == null) ? new LazyDocument(type, bytes, validationType, false) : getDocument().deepCopy();
+  }
+
+  @Override
+  public void merge(Document d, List<String> pathsToDelete) {
+    getWritableDocument().merge(d, pathsToDelete);
+  }
+
+  @Override
+  public List<String> flatten() {
+    return getDocument().flatten();
+  }
+
+  @Override
+  public List<PathValue> flattenWithValues() {
+    return getDocument().flattenWithValues();
+  }
+
+  @Override
+  public List<DiffInfo> getDifferences(Document right, boolean onlyDifferences) {
+    return getDocument().getDifferences(right, onlyDifferences);
+  }
+
+  @Override
+  public List<DiffInfo> getDifferences(String leftPath, Document right, String rightPath, boolean onlyDifferences) {
+    return getDocument().getDifferences(leftPath, right, rightPath, onlyDifferences);
+  }
+
+  @Override
+  public boolean isLeafNode(String path, String... vargs) {
+    return getDocument().isLeafNode(path, vargs);
+  }
+
+  @Override
+  public CONSTS_JDOCS.VALIDATION_TYPE getValidationType() {
+    return getDocument().getValidationType();
+  }
+
+  @Override
+  public String getStaticPath(String path, String... vargs) {
+    return getDocument().getStaticPath(path, vargs);
+  }
+
+  @Override
+  public void removeNullsAndEmpty(boolean removeNullFields, boolean removeEmptyObjects, boolean removeEmptyArrays) {
+    getWritableDocument().removeNullsAndEmpty(removeNullFields, removeEmptyObjects, removeEmptyArrays);
+  }
+
+  @Override
+  public void validateAllPaths(String type) {
+    getDocument().validateAllPaths(type);
+  }
+
+  @Override
+  public void validateModelPaths(String type) {
+    getDocument().validateModelPaths(type);
+  }
+
+  @Override
+  public boolean pathExists(CompiledPath path, String... vargs) {
+    return getDocument().pathExists(path, vargs);
+  }
+
+  @Override
+  public boolean pathExists(CompiledPath path, int index, int... indexes) {
+    return getDocument().pathExists(path, index, indexes);
+  }
+
+  @Override
+  public int getArraySize(CompiledPath path, String... vargs) {
+    return getDocument().getArraySize(path, vargs);
+  }
+
+  @Override
+  public int getArraySize(CompiledPath path, int index, int... indexes) {
+    return getDocument().getArraySize(path, index, indexes);
+  }
+
+  @Override
+  public int getArrayIndex(CompiledPath path, String... vargs) {
+    return getDocument().getArrayIndex(path, vargs);
+  }
+
+  @Override
+  public int getArrayIndex(CompiledPath path, int index, int... indexes) {
+    return getDocument().getArrayIndex(path, index, indexes);
+  }
+
+  @Override
+  public Object getValue(CompiledPath path, String... vargs) {
+    return getDocument().getValue(path, vargs);
+  }
+
+  @Override
+  public Object getValue(CompiledPath path, int index, int... indexes) {
+    return getDocument().getValue(path, index, indexes);
+  }
+
+  @Override
+  public String getString(CompiledPath path, String... vargs) {
+    return getDocument().getString(path, vargs);
+  }
+
+  @Override
+  public String getString(CompiledPath path, int index, int... indexes) {
+    return getDocument().getString(path, index, indexes);
+  }
+
+  @Override
+  public Integer getInteger(CompiledPath path, String... vargs) {
+    return getDocument().getInteger(path, vargs);
+  }
+
+  @Override
+  public Integer getInteger(CompiledPath path, int index, int... indexes) {
+    return getDocument().getInteger(path, index, indexes);
+  }
+
+  @Override
+  public Boolean getBoolean(CompiledPath path, String... vargs) {
+    return getDocument().getBoolean(path, vargs);
+  }
+
+  @Override
+  public Boolean getBoolean(CompiledPath path, int index, int... indexes) {
+    return getDocument().getBoolean(path, index, indexes);
+  }
+
+  @Override
+  public Long getLong(CompiledPath path, String... vargs) {
+    return getDocument().getLong(path, vargs);
+  }
+
+  @Override
+  public Long getLong(CompiledPath path, int index, int... indexes) {
+    return getDocument().getLong(path, index, indexes);
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(CompiledPath path, String... vargs) {
+    return getDocument().getBigDecimal(path, vargs);
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(CompiledPath path, int index, int... indexes) {
+    return getDocument().getBigDecimal(path, index, indexes);
+  }
+
+  @Override
+  public Object getArrayValue(CompiledPath path, String... vargs) {
+    return getDocument().getArrayValue(path, vargs);
+  }
+
+  @Override
+  public Object getArrayValue(CompiledPath path, int index, int... indexes) {
+    return getDocument().getArrayValue(path, index, indexes);
+  }
+
+  @Override
+  public String getArrayValueString(CompiledPath path, String... vargs) {
+    return getDocument().getArrayValueString(path, vargs);
+  }
+
+  @Override
+  public String getArrayValueString(CompiledPath path, int index, int... indexes) {
+    return getDocument().getArrayValueString(path, index, indexes);
+  }
+
+  @Override
+  public Integer getArrayValueInteger(CompiledPath path, String... vargs) {
+    return getDocument().getArrayValueInteger(path, vargs);
+  }
+
+  @Override
+  public Integer getArrayValueInteger(CompiledPath path, int index, int... indexes) {
+    return getDocument().getArrayValueInteger(path, index, indexes);
+  }
+
+  @Override
+  public Boolean getArrayValueBoolean(CompiledPath path, String... vargs) {
+    return getDocument().getArrayValueBoolean(path, vargs);
+  }
+
+  @Override
+  public Boolean getArrayValueBoolean(CompiledPath path, int index, int... indexes) {
+    return getDocument().getArrayValueBoolean(path, index, indexes);
+  }
+
+  @Override
+  public Long getArrayValueLong(CompiledPath path, String... vargs) {
+    return getDocument().getArrayValueLong(path, vargs);
+  }
+
+  @Override
+  public Long getArrayValueLong(CompiledPath path, int index, int... indexes) {
+    return getDocument().getArrayValueLong(path, index, indexes);
+  }
+
+  @Override
+  public BigDecimal getArrayValueBigDecimal(CompiledPath path, String... vargs) {
+    return getDocument().getArrayValueBigDecimal(path, vargs);
+  }
+
+  @Override
+  public BigDecimal getArrayValueBigDecimal(CompiledPath path, int index, int... indexes) {
+    return getDocument().getArrayValueBigDecimal(path, index, indexes);
+  }
+
+  @Override
+  public void deletePath(CompiledPath path, String... vargs) {
+    getWritableDocument().deletePath(path, vargs);
+  }
+
+  @Override
+  public void deletePath(CompiledPath path, int index, int... indexes) {
+    getWritableDocument().deletePath(path, index, indexes);
+  }
+
+  @Override
+  public void setString(CompiledPath path, String value, String... vargs) {
+    getWritableDocument().setString(path, value, vargs);
+  }
+
+  @Override
+  public void setString(CompiledPath path, String value, int index, int... indexes) {
+    getWritableDocument().setString(path, value, index, indexes);
+  }
+
+  @Override
+  public void setInteger(CompiledPath path, int value, String... vargs) {
+    getWritableDocument().setInteger(path, value, vargs);
+  }
+
+  @Override
+  public void setInteger(CompiledPath path, int value, int index, int... indexes) {
+    getWritableDocument().setInteger(path, value, index, indexes);
+  }
+
+  @Override
+  public void setBoolean(CompiledPath path, boolean value, String... vargs) {
+    getWritableDocument().setBoolean(path, value, vargs);
+  }
+
+  @Override
+  public void setBoolean(CompiledPath path, boolean value, int index, int... indexes) {
+    getWritableDocument().setBoolean(path, value, index, indexes);
+  }
+
+  @Override
+  public void setLong(CompiledPath path, long value, String... vargs) {
+    getWritableDocument().setLong(path, value, vargs);
+  }
+
+  @Override
+  public void setLong(CompiledPath path, long value, int index, int... indexes) {
+    getWritableDocument().setLong(path, value, index, indexes);
+  }
+
+  @Override
+  public void setBigDecimal(CompiledPath path, BigDecimal value, String... vargs) {
+    getWritableDocument().setBigDecimal(path, value, vargs);
+  }
+
+  @Override
+  public void setBigDecimal(CompiledPath path, BigDecimal value, int index, int... indexes) {
+    getWritableDocument().setBigDecimal(path, value, index, indexes);
+  }
+
+  @Override
+  public void setArrayValueString(CompiledPath path, String value, String... vargs) {
+    getWritableDocument().setArrayValueString(path, value, vargs);
+  }
+
+  @Override
+  public void setArrayValueString(CompiledPath path, String value, int index, int... indexes) {
+    getWritableDocument().setArrayValueString(path, value, index, indexes);
+  }
+
+  @Override
+  public void setArrayValueInteger(CompiledPath path, int value, String... vargs) {
+    getWritableDocument().setArrayValueInteger(path, value, vargs);
+  }
+
+  @Override
+  public void setArrayValueInteger(CompiledPath path, int value, int index, int... indexes) {
+    getWritableDocument().setArrayValueInteger(path, value, index, indexes);
+  }
+
+  @Override
+  public void setArrayValueBoolean(CompiledPath path, boolean value, String... vargs) {
+    getWritableDocument().setArrayValueBoolean(path, value, vargs);
+  }
+
+  @Override
+  public void setArrayValueBoolean(CompiledPath path, boolean value, int index, int... indexes) {
+    getWritableDocument().setArrayValueBoolean(path, value, index, indexes);
+  }
+
+  @Override
+  public void setArrayValueLong(CompiledPath path, long value, String... vargs) {
+    getWritableDocument().setArrayValueLong(path, value, vargs);
+  }
+
+  @Override
+  public void setArrayValueLong(CompiledPath path, long value, int index, int... indexes) {
+    getWritableDocument().setArrayValueLong(path, value, index, indexes);
+  }
+
+  @Override
+  public void setArrayValueBigDecimal(CompiledPath path, BigDecimal value, String... vargs) {
+    getWritableDocument().setArrayValueBigDecimal(path, value, vargs);
+  }
+
+  @Override
+  public void setArrayValueBigDecimal(CompiledPath path, BigDecimal value, int index, int... indexes) {
+    getWritableDocument().setArrayValueBigDecimal(path, value, index, indexes);
+  }
+
+}
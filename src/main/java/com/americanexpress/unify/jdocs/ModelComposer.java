@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import com.americanexpress.unify.base.BaseUtils;
+import com.americanexpress.unify.base.UnifyException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Builds the tree of a model document in which an "@here": "<resource>" field of an object is replaced by the
+ * fields of the model fragment stored in the resource. The fields of the fragment take the place of the @here
+ * field in the object and, as for a field that is repeated in a JSON object, a field already present in the
+ * object takes the value from the fragment. An object may contain more than one @here field which is why the
+ * tree is built from the tokens of the document and not read as a whole.
+ *
+ * Each fragment is read and composed once and then cached by its resource name so that fragments used by many
+ * models are not read again. Cached fragments are never changed and are copied into the models that use them.
+ * The cache may be used by threads loading models at the same time
+ */
+final class ModelComposer {
+
+  private static final String HERE = "@here";
+
+  // resource name -> composed fragment
+  private static final Map<String, ObjectNode> fragments = new ConcurrentHashMap<>();
+
+  private ModelComposer() {
+  }
+
+  static JsonNode compose(String json) throws IOException {
+    try (JsonParser parser = JDocument.objectMapper.getFactory().createParser(json)) {
+      if (parser.nextToken() == null) {
+        throw new UnifyException("jdoc_err_1");
+      }
+      return read(parser, new LinkedHashSet<>());
+    }
+  }
+
+  static void clear() {
+    fragments.clear();
+  }
+
+  // reads the value at the current token. The chain is the resource names of the fragments being composed
+  private static JsonNode read(JsonParser parser, Set<String> chain) throws IOException {
+    JsonNodeFactory factory = JDocument.objectMapper.getNodeFactory();
+    JsonToken token = parser.currentToken();
+
+    if (token == JsonToken.START_OBJECT) {
+      ObjectNode node = factory.objectNode();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        parser.nextToken();
+        if (field.equals(HERE) && (parser.currentToken() == JsonToken.VALUE_STRING)) {
+          ObjectNode fragment = getFragment(parser.getText().trim(), chain);
+          for (Map.Entry<String, JsonNode> entry : fragment.properties()) {
+            node.set(entry.getKey(), entry.getValue().deepCopy());
+          }
+        }
+        else {
+          node.set(field, read(parser, chain));
+        }
+      }
+      return node;
+    }
+
+    if (token == JsonToken.START_ARRAY) {
+      ArrayNode node = factory.arrayNode();
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        node.add(read(parser, chain));
+      }
+      return node;
+    }
+
+    // a value is read as it would be by the object mapper
+    return JDocument.objectMapper.readTree(parser);
+  }
+
+  private static ObjectNode getFragment(String resource, Set<String> chain) throws IOException {
+    ObjectNode fragment = fragments.get(resource);
+    if (fragment != null) {
+      return fragment;
+    }
+
+    if (chain.add(resource) == false) {
+      throw new UnifyException("jdoc_err_90", String.join(" -> ", chain) + " -> " + resource);
+    }
+
+    String json = BaseUtils.getResourceAsString(JDocument.class, resource);
+    if (json == null) {
+      throw new UnifyException("jdoc_err_91", resource);
+    }
+
+    try (JsonParser parser = JDocument.objectMapper.getFactory().createParser(json)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new UnifyException("jdoc_err_92", resource);
+      }
+      fragment = (ObjectNode)read(parser, chain);
+    }
+    chain.remove(resource);
+
+    // another thread may have composed the same fragment in the meantime in which case either can be used
+    ObjectNode fragment1 = fragments.putIfAbsent(resource, fragment);
+    return (fragment1 == null) ? fragment : fragment1;
+  }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import com.americanexpress.unify.base.UnifyException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * A node of the immutable tree that is built from a model document when the model is loaded. Object nodes hold
+ * their fields by name, array nodes hold the model of their elements and value nodes hold the format string of
+ * the field along with its compiled validator. A path is resolved against the tree by walking its tokens once which avoids going through the
+ * document API of the model document for every access to a typed document. Array indexes and filters in the
+ * path are ignored as every element of an array is described by the first element in the model
+ */
+final class ModelNode {
+
+  // the node in the model document
+  private final JsonNode node;
+
+  // true only for the root node of the model
+  private final boolean isRoot;
+
+  // fields of an object node, null for other nodes
+  private final Map<String, ModelNode> children;
+
+  // model of the elements of an array node, null for other nodes or if the array in the model is empty
+  private final ModelNode element;
+
+  // format string of a value node, null for other nodes or if the value is not a string
+  private final String format;
+
+  // compiled on first use so that an error in the format string is reported against the path being accessed
+  private volatile FieldValidator validator = null;
+
+  // key field of the elements of an array node read from the jdocs_arr_pk field of the model of the elements on
+  // first use. An empty string means that no key field is defined
+  private volatile String keyField = null;
+
+  private ModelNode(JsonNode node, boolean isRoot) {
+    this.node = node;
+    this.isRoot = isRoot;
+
+    Map<String, ModelNode> children = null;
+    ModelNode element = null;
+    String format = null;
+
+    switch (node.getNodeType()) {
+      case OBJECT: {
+        children = new HashMap<>();
+        for (Map.Entry<String, JsonNode> entry : node.properties()) {
+          children.put(entry.getKey(), new ModelNode(entry.getValue(), false));
+        }
+        children = Collections.unmodifiableMap(children);
+      }
+      break;
+
+      case ARRAY:
+        if (node.size() > 0) {
+          element = new ModelNode(node.get(0), false);
+        }
+        break;
+
+      case STRING:
+        format = node.textValue();
+        break;
+
+      default:
+        break;
+    }
+
+    this.children = children;
+    this.element = element;
+    this.format = format;
+  }
+
+  // a copy of a node that shares its children and element
+  private ModelNode(ModelNode mn, boolean isRoot) {
+    this.node = mn.node;
+    this.isRoot = isRoot;
+    this.children = mn.children;
+    this.element = mn.element;
+    this.format = mn.format;
+  }
+
+  static ModelNode build(JsonNode rootNode) {
+    return new ModelNode(rootNode, true);
+  }
+
+  // returns the node as the root of a model tree for a document that is a part of a typed document
+  ModelNode getAsRoot() {
+    return (isRoot == true) ? this : new ModelNode(this, true);
+  }
+
+  JsonNode getJsonNode() {
+    return node;
+  }
+
+  boolean isArray() {
+    return node.isArray();
+  }
+
+  boolean isObject() {
+    return node.isObject();
+  }
+
+  boolean isValue() {
+    return node.isValueNode();
+  }
+
+  String getFormat() {
+    return format;
+  }
+
+  // returns the compiled form of the format string of a value node. The path is only rendered if the format
+  // string needs to be compiled
+  FieldValidator getValidator(String type, Object path) {
+    FieldValidator fv = validator;
+    if (fv == null) {
+      fv = FieldValidator.compile(type, path.toString(), node.asText());
+      validator = fv;
+    }
+    return fv;
+  }
+
+  // compiles the validators of the value nodes and reads the key fields of the array nodes of the tree so that
+  // this is not done on the first access to a path. The path is that of the node in the model
+  void compile(String type, PathStack path) {
+    if (children != null) {
+      for (Map.Entry<String, ModelNode> entry : children.entrySet()) {
+        // the key field definition is not a field of the elements
+        if (entry.getKey().equals(CONSTS_JDOCS.FORMAT_FIELDS.KEY)) {
+          continue;
+        }
+        path.pushField(entry.getKey());
+        entry.getValue().compile(type, path);
+        path.pop();
+      }
+    }
+    else if (element != null) {
+      getKeyField();
+      path.pushIndex(0);
+      element.compile(type, path);
+      path.pop();
+    }
+    else if (format != null) {
+      getValidator(type, path);
+    }
+  }
+
+  // returns the key field of the elements of an array node used to match elements when merging arrays or null
+  // if the model does not define one
+  String getKeyField() {
+    String kf = keyField;
+    if (kf == null) {
+      kf = "";
+      JsonNode keyNode = (element == null) ? null : element.node.get(CONSTS_JDOCS.FORMAT_FIELDS.KEY);
+      if (keyNode != null) {
+        try {
+          kf = JDocument.objectMapper.readTree(keyNode.asText()).get("field").asText();
+        }
+        catch (IOException ex) {
+          throw new UnifyException("jdoc_err_1", ex);
+        }
+      }
+      keyField = kf;
+    }
+    return kf.isEmpty() ? null : kf;
+  }
+
+  ModelNode getChild(String field) {
+    return (children == null) ? null : children.get(field);
+  }
+
+  ModelNode getElement() {
+    return element;
+  }
+
+  // returns the model of the elements of the array field. Same as traversing the model document using an
+  // index of 0 i.e. a field that is not an array results in an exception
+  ModelNode getArrayElement(String field) {
+    ModelNode arrayNode = null;
+    if (field.isEmpty() && isRoot && isArray()) {
+      // special handling for a model that starts with an array
+      arrayNode = this;
+    }
+    else {
+      arrayNode = getChild(field);
+    }
+
+    if (arrayNode == null) {
+      return null;
+    }
+
+    if (arrayNode.isArray() == false) {
+      throw new UnifyException("jdoc_err_7", field);
+    }
+
+    return arrayNode.element;
+  }
+
+  // returns the model node for the path or null if the path does not exist in the model
+  ModelNode resolve(List<Token> tokenList) {
+    if (tokenList.isEmpty()) {
+      // as in a document, an empty path does not point to any node
+      return null;
+    }
+
+    ModelNode mn = this;
+    int size = tokenList.size();
+    for (int i = 0; (i < size) && (mn != null); i++) {
+      Token token = tokenList.get(i);
+      mn = token.isArray() ? mn.getArrayElement(token.getField()) : mn.getChild(token.getField());
+    }
+    return mn;
+  }
+
+}
@@ -14,137 +14,196 @@
 
 package com.americanexpress.unify.jdocs;
 
+import com.americanexpress.unify.base.UnifyException;
+
 import java.util.ArrayList;
 import java.util.List;
 
-import static com.americanexpress.unify.base.BaseUtils.removeEscapeCharsAndTrim;
-
+/*
+ * Breaks up a path into tokens in a single pass over the characters of the path. While scanning a token, the
+ * positions of the opening [, the closing ] and the = of a name value filter are noted and the token is created
+ * directly from these positions when the next unescaped . or the end of the path is reached. Strings are only
+ * created for the final names and values and escape characters are removed only if the token contains any
+ */
 class Parser {
 
+  // the placeholder that stands for a value to be supplied at the time of access
+  static final String SLOT = "%";
+
+  private static final char ESCAPE_CHAR = '\\';
+
   public static List<Token> getTokens(String path) {
-    List<String> strTokens = getStringTokens(path);
-    List<Token> tokens = getTokens(strTokens);
-    return tokens;
+    return getTokens(path, false);
   }
 
-  private static List<Token> getTokens(List<String> strTokens) {
+  // if allowSlots is true, a % specified as an array index or as the value of a name value filter is returned
+  // as a slot token which needs to be bound to a value before it can be used
+  static List<Token> getTokens(String path, boolean allowSlots) {
     List<Token> tokens = new ArrayList<>();
-    int size = strTokens.size();
+    int size = path.length();
 
-    for (int i = 0; i < size; i++) {
-      String strToken = strTokens.get(i);
-      boolean isLeaf = false;
+    // state of the token being scanned
+    int from = 2;
+    int open = -1;
+    int close = -1;
+    int equals = -1;
+    boolean hasEscapes = false;
+
+    for (int i = 2; i < size; i++) {
+      char c = path.charAt(i);
+      boolean isEscaped = (path.charAt(i - 1) == ESCAPE_CHAR);
+
+      switch (c) {
+        case '.':
+          if (isEscaped == false) {
+            tokens.add(getToken(path, from, i, open, close, equals, hasEscapes, (i == (size - 1)), allowSlots));
+            from = i + 1;
+            open = -1;
+            close = -1;
+            equals = -1;
+            hasEscapes = false;
+          }
+          break;
 
-      if (i == (size - 1)) {
-        isLeaf = true;
-      }
+        case '[':
+          // an escape char before the start of the token belongs to the previous token
+          if ((open == -1) && ((isEscaped == false) || (i == from))) {
+            open = i;
+          }
+          break;
 
-      int first = isPresent(strToken, '[');
-      if (first != -1) {
-        tokens.add(getArrayToken(strToken, first, isLeaf));
-      }
-      else {
-        String s = removeEscapeCharsAndTrim(strToken, '\\', '.', '[', ']', '=');
-        tokens.add(new Token(s, isLeaf));
+        case ']':
+          // the last ] in the token closes the array
+          if (open != -1) {
+            close = i;
+          }
+          break;
+
+        case '=':
+          if ((open != -1) && (equals == -1) && (isEscaped == false)) {
+            equals = i;
+          }
+          break;
+
+        case ESCAPE_CHAR:
+          hasEscapes = true;
+          break;
+
+        default:
+          break;
       }
     }
 
+    if (from < size) {
+      tokens.add(getToken(path, from, size, open, close, equals, hasEscapes, true, allowSlots));
+    }
+
     return tokens;
   }
 
-  private static ArrayToken getArrayToken(String s, int first, boolean isLeaf) {
+  private static Token getToken(String path, int from, int to, int open, int close, int equals, boolean hasEscapes, boolean isLeaf, boolean allowSlots) {
+    if (open == -1) {
+      return new Token(getString(path, from, to, hasEscapes), isLeaf);
+    }
+
     ArrayToken at = null;
-    String name = removeEscapeCharsAndTrim(s.substring(0, first), '\\', '.', '[', ']', '=');
+    String name = getString(path, from, open, hasEscapes);
 
     while (true) {
-      if (s.charAt(first + 1) == ']') {
+      if (((open + 1) < to) && (path.charAt(open + 1) == ']')) {
         // it is a empty array token
         at = new ArrayToken(name, isLeaf);
         break;
       }
 
-      {
-        int pos = s.lastIndexOf(']');
-        s = s.substring(first + 1, pos);
-        pos = isPresent(s, '=');
-        if (pos != -1) {
-          // it is a key value pair
-          String key = removeEscapeCharsAndTrim(s.substring(0, pos), '\\', '.', '[', ']', '=');
-          String value = removeEscapeCharsAndTrim(s.substring(pos + 1), '\\', '.', '[', ']', '=');
-          at = new ArrayToken(name, key, value, isLeaf);
-        }
-        else {
-          // it is an index
-          s = removeEscapeCharsAndTrim(s, '\\', '.', '[', ']', '=');
-          at = new ArrayToken(name, Integer.parseInt(s), isLeaf);
-        }
-        break;
+      if (close == -1) {
+        throw new UnifyException("jdoc_err_27", path.substring(from, to));
       }
-    }
-
-    return at;
-  }
 
-  private static int isPresent(String s, char symbol) {
-    // return -1 means not present else present
-    int pos = -1;
-
-    int start = 0;
-    while (true) {
-      if (start >= s.length()) {
+      if ((equals != -1) && (equals < close)) {
+        // it is a key value pair
+        String key = getString(path, open + 1, equals, hasEscapes);
+        String value = getString(path, equals + 1, close, hasEscapes);
+        at = new ArrayToken(name, key, value, isLeaf, (allowSlots && value.equals(SLOT)));
         break;
       }
-      int i = s.indexOf(symbol, start);
-      if (i != -1) {
-        if (isEscaped(s, i, '\\') == false) {
-          pos = i;
-          break;
-        }
-        else {
-          start = i + 1;
-        }
+
+      // it is an index
+      String s = getString(path, open + 1, close, hasEscapes);
+      if (allowSlots && s.equals(SLOT)) {
+        at = new ArrayToken(name, -1, isLeaf, true);
       }
       else {
-        break;
+        at = new ArrayToken(name, getIndex(s), isLeaf);
       }
+      break;
     }
 
-    return pos;
+    return at;
   }
 
-  private static List<String> getStringTokens(String s) {
-    List<String> paths = new ArrayList<>();
-    int from = 2;
+  // returns the trimmed string between from and to with the escape chars removed
+  private static String getString(String path, int from, int to, boolean hasEscapes) {
+    while ((from < to) && (path.charAt(from) <= ' ')) {
+      from++;
+    }
+    while ((to > from) && (path.charAt(to - 1) <= ' ')) {
+      to--;
+    }
 
-    for (int i = 2; i < s.length(); i++) {
-      char c = s.charAt(i);
-      if (c == '.') {
-        if (isEscaped(s, i, '\\') == false) {
-          paths.add(s.substring(from, i));
-          from = i + 1;
-        }
-      }
+    if (hasEscapes == false) {
+      return path.substring(from, to);
     }
 
-    if (from < s.length()) {
-      paths.add(s.substring(from));
+    StringBuilder sb = null;
+    for (int i = from; i < to; i++) {
+      char c = path.charAt(i);
+      if ((c == ESCAPE_CHAR) && (i < (to - 1)) && isEscapable(path.charAt(i + 1))) {
+        // we do not need to copy the escape char
+        if (sb == null) {
+          sb = new StringBuilder(to - from);
+          sb.append(path, from, i);
+        }
+      }
+      else if (sb != null) {
+        sb.append(c);
+      }
     }
 
-    return paths;
+    return (sb == null) ? path.substring(from, to) : sb.toString();
   }
 
-  private static boolean isEscaped(String s, int pos, char ec) {
-    if (pos == 0) {
-      return false;
+  private static boolean isEscapable(char c) {
+    switch (c) {
+      case ESCAPE_CHAR:
+      case '.':
+      case '[':
+      case ']':
+      case '=':
+        return true;
+
+      default:
+        return false;
     }
+  }
 
-    char c = s.charAt(pos - 1);
-    if (c == ec) {
-      return true;
+  // converts plain digits directly and leaves everything else including the error to Integer.parseInt
+  private static int getIndex(String s) {
+    int size = s.length();
+    if ((size == 0) || (size > 9)) {
+      return Integer.parseInt(s);
     }
-    else {
-      return false;
+
+    int index = 0;
+    for (int i = 0; i < size; i++) {
+      char c = s.charAt(i);
+      if ((c < '0') || (c > '9')) {
+        return Integer.parseInt(s);
+      }
+      index = (index * 10) + (c - '0');
     }
+
+    return index;
   }
 
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * A bounded least recently used cache of parsed paths. The cache is split into segments, each of which is an
+ * access ordered LinkedHashMap guarded by its own lock so that threads reading different paths seldom contend
+ * with each other. The token lists stored in the cache are shared across documents and threads and hence
+ * are always stored as unmodifiable lists
+ */
+class PathCache {
+
+  private static final int MAX_SEGMENTS = 16;
+
+  // smallest number of entries per segment. Small caches are kept in a single segment so that they behave as a true LRU
+  private static final int MIN_SEGMENT_SIZE = 64;
+
+  private final Segment[] segments;
+
+  private final int maxSize;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private static class Segment extends LinkedHashMap<String, List<Token>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int capacity;
+
+    Segment(int capacity) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, List<Token>> eldest) {
+      return size() > capacity;
+    }
+
+  }
+
+  PathCache(int maxSize) {
+    this.maxSize = maxSize;
+    int count = Math.max(1, Math.min(MAX_SEGMENTS, maxSize / MIN_SEGMENT_SIZE));
+    int capacity = (maxSize + count - 1) / count;
+    segments = new Segment[count];
+    for (int i = 0; i < count; i++) {
+      segments[i] = new Segment(capacity);
+    }
+  }
+
+  private Segment getSegment(String path) {
+    int h = path.hashCode();
+    h ^= (h >>> 16);
+    return segments[(h & 0x7fffffff) % segments.length];
+  }
+
+  List<Token> get(String path) {
+    Segment segment = getSegment(path);
+    List<Token> tokens = null;
+    synchronized (segment) {
+      tokens = segment.get(path);
+    }
+    if (tokens == null) {
+      misses.increment();
+    }
+    else {
+      hits.increment();
+    }
+    return tokens;
+  }
+
+  void put(String path, List<Token> tokens) {
+    Segment segment = getSegment(path);
+    synchronized (segment) {
+      segment.put(path, tokens);
+    }
+  }
+
+  long getHitCount() {
+    return hits.sum();
+  }
+
+  long getMissCount() {
+    return misses.sum();
+  }
+
+  int getMaxSize() {
+    return maxSize;
+  }
+
+  int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+}
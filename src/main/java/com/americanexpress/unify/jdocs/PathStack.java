@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import java.util.Arrays;
+
+/*
+ * The location in a document that is being validated, held as a stack of field names and array indexes. The
+ * stack is reused for the whole of the validation and is rendered as a string only when an error is recorded
+ * so that validating a valid document does not create any path strings. A field name is followed by a . if the
+ * next entry is a field name and an index is always followed by a . if there is a next entry e.g. $.a.b[0].c
+ */
+final class PathStack {
+
+  // the start of the path e.g. $.
+  private final String prefix;
+
+  // the field name of each entry, null for an index
+  private String[] fields = new String[16];
+
+  private int[] indexes = new int[16];
+
+  private int size = 0;
+
+  PathStack(String prefix) {
+    this.prefix = prefix;
+  }
+
+  // a copy of the stack that can be pushed and popped independently e.g. in another thread
+  PathStack(PathStack path) {
+    prefix = path.prefix;
+    fields = Arrays.copyOf(path.fields, Math.max(path.size * 2, 16));
+    indexes = Arrays.copyOf(path.indexes, fields.length);
+    size = path.size;
+  }
+
+  void pushField(String field) {
+    ensureCapacity();
+    fields[size] = field;
+    size++;
+  }
+
+  void pushIndex(int index) {
+    ensureCapacity();
+    fields[size] = null;
+    indexes[size] = index;
+    size++;
+  }
+
+  // replaces the index on the top of the stack so that the elements of an array can be iterated without a pop and push
+  void setIndex(int index) {
+    indexes[size - 1] = index;
+  }
+
+  void pop() {
+    size--;
+    fields[size] = null;
+  }
+
+  int size() {
+    return size;
+  }
+
+  // pops entries till the stack has the given size
+  void setSize(int size) {
+    while (this.size > size) {
+      pop();
+    }
+  }
+
+  private void ensureCapacity() {
+    if (size == fields.length) {
+      String[] fields1 = new String[size * 2];
+      int[] indexes1 = new int[size * 2];
+      System.arraycopy(fields, 0, fields1, 0, size);
+      System.arraycopy(indexes, 0, indexes1, 0, size);
+      fields = fields1;
+      indexes = indexes1;
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(prefix);
+    for (int i = 0; i < size; i++) {
+      boolean isLast = (i == (size - 1));
+      if (fields[i] == null) {
+        sb.append('[').append(indexes[i]).append(']');
+        if (isLast == false) {
+          sb.append('.');
+        }
+      }
+      else {
+        sb.append(fields[i]);
+        if ((isLast == false) && (fields[i + 1] != null)) {
+          sb.append('.');
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+}
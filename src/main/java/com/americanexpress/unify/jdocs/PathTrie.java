@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import java.util.*;
+
+/*
+ * A trie of the tokens of a set of paths. Paths that start with the same tokens share the nodes of those tokens so
+ * that a document is traversed only once for the common part when the values of all the paths are read. Each path
+ * is identified by its position in the set and each node of the trie by an id from 0 for the root
+ */
+final class PathTrie {
+
+  // the token of the node, null for the root
+  private final Token token;
+
+  private final int id;
+
+  // the number of nodes in the trie, only maintained in the root
+  private int size = 1;
+
+  // keyed by the field and the array filter of the token of the child
+  private final Map<String, PathTrie> children = new LinkedHashMap<>();
+
+  // positions of the paths that end at this node
+  private final List<Integer> positions = new ArrayList<>(1);
+
+  PathTrie() {
+    this(null, 0);
+  }
+
+  private PathTrie(Token token, int id) {
+    this.token = token;
+    this.id = id;
+  }
+
+  // adds the path to the trie and returns the ids of the nodes of its tokens
+  int[] add(List<Token> tokenList, int position) {
+    int[] ids = new int[tokenList.size()];
+    PathTrie node = this;
+    int i = 0;
+    for (Token t : tokenList) {
+      node = node.children.computeIfAbsent(getKey(t), k -> new PathTrie(t, size++));
+      ids[i++] = node.id;
+    }
+    node.positions.add(position);
+    return ids;
+  }
+
+  int size() {
+    return size;
+  }
+
+  Token getToken() {
+    return token;
+  }
+
+  Collection<PathTrie> getChildren() {
+    return children.values();
+  }
+
+  List<Integer> getPositions() {
+    return positions;
+  }
+
+  // tokens with the same key traverse to the same node of a document
+  private static String getKey(Token token) {
+    if (token.isArray() == false) {
+      return token.getField();
+    }
+
+    ArrayToken.Filter filter = ((ArrayToken)token).getFilter();
+    StringBuilder sb = new StringBuilder(token.getField()).append('\0').append(filter.getType().ordinal());
+    switch (filter.getType()) {
+      case INDEX:
+        sb.append('\0').append(filter.getIndex());
+        break;
+
+      case NAME_VALUE:
+        sb.append('\0').append(filter.getField()).append('\0').append(filter.getValue());
+        break;
+
+      default:
+        break;
+    }
+    return sb.toString();
+  }
+
+}
@@ -16,8 +16,14 @@ package com.americanexpress.unify.jdocs;
 
 import com.americanexpress.unify.base.UnifyException;
 
+import java.io.OutputStream;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /*
  * @author Deepak Arora
@@ -80,6 +86,11 @@ public class ReadOnlyDocument implements Document {
     return d.getArraySize(path, vargs);
   }
 
+  @Override
+  public ArrayCursor getArrayCursor(String path, String... vargs) {
+    return d.getArrayCursor(path, vargs).getReadOnlyCursor();
+  }
+
   @Override
   public int getArrayIndex(String path, String... vargs) {
     return d.getArrayIndex(path, vargs);
@@ -110,6 +121,26 @@ public class ReadOnlyDocument implements Document {
     return d.getBigDecimal(path, vargs);
   }
 
+  @Override
+  public int getInt(String path, int defaultValue, String... vargs) {
+    return d.getInt(path, defaultValue, vargs);
+  }
+
+  @Override
+  public long getLong(String path, long defaultValue, String... vargs) {
+    return d.getLong(path, defaultValue, vargs);
+  }
+
+  @Override
+  public boolean getBool(String path, boolean defaultValue, String... vargs) {
+    return d.getBool(path, defaultValue, vargs);
+  }
+
+  @Override
+  public double getDouble(String path, double defaultValue, String... vargs) {
+    return d.getDouble(path, defaultValue, vargs);
+  }
+
   @Override
   public Boolean getArrayValueBoolean(String path, String... vargs) {
     return d.getArrayValueBoolean(path, vargs);
@@ -140,11 +171,66 @@ public class ReadOnlyDocument implements Document {
     return d.getPrettyPrintJson();
   }
 
+  @Override
+  public void writeTo(OutputStream os) {
+    d.writeTo(os);
+  }
+
+  @Override
+  public void writeTo(OutputStream os, boolean prettyPrint) {
+    d.writeTo(os, prettyPrint);
+  }
+
+  @Override
+  public void writeTo(Writer writer) {
+    d.writeTo(writer);
+  }
+
+  @Override
+  public void writeTo(Writer writer, boolean prettyPrint) {
+    d.writeTo(writer, prettyPrint);
+  }
+
+  @Override
+  public void writeTo(ByteBuffer buffer) {
+    d.writeTo(buffer);
+  }
+
+  @Override
+  public void writeTo(ByteBuffer buffer, boolean prettyPrint) {
+    d.writeTo(buffer, prettyPrint);
+  }
+
+  @Override
+  public byte[] toBytes() {
+    return d.toBytes();
+  }
+
+  @Override
+  public byte[] toBytes(boolean prettyPrint) {
+    return d.toBytes(prettyPrint);
+  }
+
+  @Override
+  public byte[] toBinary() {
+    return d.toBinary();
+  }
+
+  @Override
+  public void writeBinaryTo(OutputStream os) {
+    d.writeBinaryTo(os);
+  }
+
   @Override
   public Object getValue(String path, String... vargs) {
     return d.getValue(path, vargs);
   }
 
+  @Override
+  public Map<String, Object> getValues(Collection<String> paths) {
+    return d.getValues(paths);
+  }
+
   @Override
   public Object getArrayValue(String path, String... vargs) {
     return d.getArrayValue(path, vargs);
@@ -170,6 +256,12 @@ public class ReadOnlyDocument implements Document {
     return d.getDocument(path, vargs);
   }
 
+  @Override
+  public Document getDocumentView(String path, boolean isReadOnly, String... vargs) {
+    // the view of a read only document can only be read
+    return d.getDocumentView(path, true, vargs);
+  }
+
   @Override
   public Document getContent(String path, boolean returnTypedDocument, boolean includeFullPath, String... vargs) {
     return d.getContent(path, returnTypedDocument, includeFullPath, vargs);
@@ -200,6 +292,11 @@ public class ReadOnlyDocument implements Document {
     throw new UnifyException("jdoc_err_19");
   }
 
+  @Override
+  public void edit(Consumer<DocumentEdit> editor) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
   @Override
   public void setString(String path, String value, String... vargs) {
     throw new UnifyException("jdoc_err_19");
@@ -225,6 +322,21 @@ public class ReadOnlyDocument implements Document {
     throw new UnifyException("jdoc_err_19");
   }
 
+  @Override
+  public void appendArrayValues(String path, Collection<?> values, String... vargs) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setArrayValues(String path, Collection<?> values, String... vargs) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void appendElements(String path, List<Document> docs, String... vargs) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
   @Override
   public void setArrayValueString(String path, String value, String... vargs) {
     throw new UnifyException("jdoc_err_19");
@@ -290,4 +402,264 @@ public class ReadOnlyDocument implements Document {
     d.validateModelPaths(type);
   }
 
+  @Override
+  public boolean pathExists(CompiledPath path, String... vargs) {
+    return d.pathExists(path, vargs);
+  }
+
+  @Override
+  public boolean pathExists(CompiledPath path, int index, int... indexes) {
+    return d.pathExists(path, index, indexes);
+  }
+
+  @Override
+  public int getArraySize(CompiledPath path, String... vargs) {
+    return d.getArraySize(path, vargs);
+  }
+
+  @Override
+  public int getArraySize(CompiledPath path, int index, int... indexes) {
+    return d.getArraySize(path, index, indexes);
+  }
+
+  @Override
+  public int getArrayIndex(CompiledPath path, String... vargs) {
+    return d.getArrayIndex(path, vargs);
+  }
+
+  @Override
+  public int getArrayIndex(CompiledPath path, int index, int... indexes) {
+    return d.getArrayIndex(path, index, indexes);
+  }
+
+  @Override
+  public Object getValue(CompiledPath path, String... vargs) {
+    return d.getValue(path, vargs);
+  }
+
+  @Override
+  public Object getValue(CompiledPath path, int index, int... indexes) {
+    return d.getValue(path, index, indexes);
+  }
+
+  @Override
+  public String getString(CompiledPath path, String... vargs) {
+    return d.getString(path, vargs);
+  }
+
+  @Override
+  public String getString(CompiledPath path, int index, int... indexes) {
+    return d.getString(path, index, indexes);
+  }
+
+  @Override
+  public Integer getInteger(CompiledPath path, String... vargs) {
+    return d.getInteger(path, vargs);
+  }
+
+  @Override
+  public Integer getInteger(CompiledPath path, int index, int... indexes) {
+    return d.getInteger(path, index, indexes);
+  }
+
+  @Override
+  public Boolean getBoolean(CompiledPath path, String... vargs) {
+    return d.getBoolean(path, vargs);
+  }
+
+  @Override
+  public Boolean getBoolean(CompiledPath path, int index, int... indexes) {
+    return d.getBoolean(path, index, indexes);
+  }
+
+  @Override
+  public Long getLong(CompiledPath path, String... vargs) {
+    return d.getLong(path, vargs);
+  }
+
+  @Override
+  public Long getLong(CompiledPath path, int index, int... indexes) {
+    return d.getLong(path, index, indexes);
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(CompiledPath path, String... vargs) {
+    return d.getBigDecimal(path, vargs);
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(CompiledPath path, int index, int... indexes) {
+    return d.getBigDecimal(path, index, indexes);
+  }
+
+  @Override
+  public Object getArrayValue(CompiledPath path, String... vargs) {
+    return d.getArrayValue(path, vargs);
+  }
+
+  @Override
+  public Object getArrayValue(CompiledPath path, int index, int... indexes) {
+    return d.getArrayValue(path, index, indexes);
+  }
+
+  @Override
+  public String getArrayValueString(CompiledPath path, String... vargs) {
+    return d.getArrayValueString(path, vargs);
+  }
+
+  @Override
+  public String getArrayValueString(CompiledPath path, int index, int... indexes) {
+    return d.getArrayValueString(path, index, indexes);
+  }
+
+  @Override
+  public Integer getArrayValueInteger(CompiledPath path, String... vargs) {
+    return d.getArrayValueInteger(path, vargs);
+  }
+
+  @Override
+  public Integer getArrayValueInteger(CompiledPath path, int index, int... indexes) {
+    return d.getArrayValueInteger(path, index, indexes);
+  }
+
+  @Override
+  public Boolean getArrayValueBoolean(CompiledPath path, String... vargs) {
+    return d.getArrayValueBoolean(path, vargs);
+  }
+
+  @Override
+  public Boolean getArrayValueBoolean(CompiledPath path, int index, int... indexes) {
+    return d.getArrayValueBoolean(path, index, indexes);
+  }
+
+  @Override
+  public Long getArrayValueLong(CompiledPath path, String... vargs) {
+    return d.getArrayValueLong(path, vargs);
+  }
+
+  @Override
+  public Long getArrayValueLong(CompiledPath path, int index, int... indexes) {
+    return d.getArrayValueLong(path, index, indexes);
+  }
+
+  @Override
+  public BigDecimal getArrayValueBigDecimal(CompiledPath path, String... vargs) {
+    return d.getArrayValueBigDecimal(path, vargs);
+  }
+
+  @Override
+  public BigDecimal getArrayValueBigDecimal(CompiledPath path, int index, int... indexes) {
+    return d.getArrayValueBigDecimal(path, index, indexes);
+  }
+
+  @Override
+  public void deletePath(CompiledPath path, String... vargs) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void deletePath(CompiledPath path, int index, int... indexes) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setString(CompiledPath path, String value, String... vargs) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setString(CompiledPath path, String value, int index, int... indexes) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setInteger(CompiledPath path, int value, String... vargs) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setInteger(CompiledPath path, int value, int index, int... indexes) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setBoolean(CompiledPath path, boolean value, String... vargs) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setBoolean(CompiledPath path, boolean value, int index, int... indexes) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setLong(CompiledPath path, long value, String... vargs) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setLong(CompiledPath path, long value, int index, int... indexes) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setBigDecimal(CompiledPath path, BigDecimal value, String... vargs) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setBigDecimal(CompiledPath path, BigDecimal value, int index, int... indexes) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setArrayValueString(CompiledPath path, String value, String... vargs) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setArrayValueString(CompiledPath path, String value, int index, int... indexes) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setArrayValueInteger(CompiledPath path, int value, String... vargs) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setArrayValueInteger(CompiledPath path, int value, int index, int... indexes) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setArrayValueBoolean(CompiledPath path, boolean value, String... vargs) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setArrayValueBoolean(CompiledPath path, boolean value, int index, int... indexes) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setArrayValueLong(CompiledPath path, long value, String... vargs) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setArrayValueLong(CompiledPath path, long value, int index, int... indexes) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setArrayValueBigDecimal(CompiledPath path, BigDecimal value, String... vargs) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
+  @Override
+  public void setArrayValueBigDecimal(CompiledPath path, BigDecimal value, int index, int... indexes) {
+    throw new UnifyException("jdoc_err_19");
+  }
+
 }
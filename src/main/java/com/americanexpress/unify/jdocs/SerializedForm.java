@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * The compact serialized form of a document cached between writes. The string and the UTF-8 bytes are each
+ * created when first asked for and are kept till the next write to the document. A write only counts the writes
+ * and the cached form is found to be stale when it is next asked for. A write is counted after the nodes have been
+ * changed so that a form created while they were being changed is stale once the write is done. The count is
+ * shared by a document and its views as they are backed by the same nodes and a write through any of them may
+ * change the serialized form of all of them. A document may be read by more than one thread and a form created by one thread at the same time
+ * as another is simply replaced
+ */
+final class SerializedForm {
+
+  private static final class Entry {
+
+    // the number of writes when the form was created
+    private final long writes;
+
+    private final String json;
+
+    private final byte[] bytes;
+
+    private Entry(long writes, String json, byte[] bytes) {
+      this.writes = writes;
+      this.json = json;
+      this.bytes = bytes;
+    }
+
+  }
+
+  // the number of writes to the nodes of the document, shared with its views
+  private final AtomicLong writes;
+
+  private volatile Entry entry = null;
+
+  SerializedForm() {
+    this(new AtomicLong());
+  }
+
+  private SerializedForm(AtomicLong writes) {
+    this.writes = writes;
+  }
+
+  // the form of a view of the document
+  SerializedForm getView() {
+    return new SerializedForm(writes);
+  }
+
+  void invalidate() {
+    writes.incrementAndGet();
+  }
+
+  String getJson(JsonNode node) throws JsonProcessingException {
+    long n = writes.get();
+    Entry e = getEntry(n);
+    if ((e != null) && (e.json != null)) {
+      return e.json;
+    }
+
+    String json = JDocument.objectMapper.writeValueAsString(node);
+    entry = new Entry(n, json, (e == null) ? null : e.bytes);
+    return json;
+  }
+
+  // the bytes are shared and must not be changed
+  byte[] getBytes(JsonNode node) throws JsonProcessingException {
+    long n = writes.get();
+    Entry e = getEntry(n);
+    if ((e != null) && (e.bytes != null)) {
+      return e.bytes;
+    }
+
+    byte[] bytes = JDocument.objectMapper.writeValueAsBytes(node);
+    entry = new Entry(n, (e == null) ? null : e.json, bytes);
+    return bytes;
+  }
+
+  // the entry if it is not stale
+  private Entry getEntry(long n) {
+    Entry e = entry;
+    return ((e != null) && (e.writes == n)) ? e : null;
+  }
+
+}
@@ -16,9 +16,9 @@ package com.americanexpress.unify.jdocs;
 
 class Token {
 
-  private String field;
+  private final String field;
 
-  private boolean isLeaf;
+  private final boolean isLeaf;
 
   public Token(String field, boolean isLeaf) {
     this.field = field;
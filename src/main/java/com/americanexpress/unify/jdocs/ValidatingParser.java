@@ -0,0 +1,282 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import com.americanexpress.unify.base.UnifyException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/*
+ * A parser that validates a document against the model tree of its type while the tokens of the document are
+ * being read. It can be handed to the object mapper to build the tree of the document in the same pass or it
+ * can simply be read to the end to validate a document without building it. The checks and the error messages
+ * are the same as those of the validation of a document tree. If fail fast is set, reading stops with an
+ * exception at the first error without reading the rest of the document
+ */
+class ValidatingParser extends JsonParserDelegate {
+
+  // a container in the document that is being read
+  private static class Frame {
+
+    // the model node against which the fields of an object or the elements of an array are validated
+    private final ModelNode model;
+
+    private final boolean isArray;
+
+    // the size of the path stack before the entries of the container. For an array, the index of the element
+    // is the entry after that and for an object, the field name of the value
+    private final int pathSize;
+
+    // the index of the next element of an array
+    private int index = 0;
+
+    // the field name of the value of an object being read
+    private String field = null;
+
+    Frame(ModelNode model, boolean isArray, int pathSize) {
+      this.model = model;
+      this.isArray = isArray;
+      this.pathSize = pathSize;
+    }
+
+  }
+
+  private final ModelNode root;
+
+  private final String type;
+
+  private final CONSTS_JDOCS.VALIDATION_TYPE validationType;
+
+  private final List<String> errorList;
+
+  private final boolean failFast;
+
+  private final Deque<Frame> frames = new ArrayDeque<>();
+
+  // the location being read which is rendered as a string only if there is an error
+  private final PathStack path = new PathStack("$.");
+
+  // the depth of the container being skipped as it is not in the model or does not match it
+  private int skipDepth = 0;
+
+  ValidatingParser(JsonParser parser, ModelNode root, String type, CONSTS_JDOCS.VALIDATION_TYPE validationType, List<String> errorList, boolean failFast) {
+    super(parser);
+    this.root = root;
+    this.type = type;
+    this.validationType = validationType;
+    this.errorList = errorList;
+    this.failFast = failFast;
+  }
+
+  @Override
+  public JsonToken nextToken() throws IOException {
+    JsonToken t = delegate.nextToken();
+    if (t != null) {
+      process(t);
+    }
+    return t;
+  }
+
+  // the delegate implementations of the following would read past this parser
+
+  @Override
+  public JsonToken nextValue() throws IOException {
+    JsonToken t = nextToken();
+    if (t == JsonToken.FIELD_NAME) {
+      t = nextToken();
+    }
+    return t;
+  }
+
+  @Override
+  public JsonParser skipChildren() throws IOException {
+    JsonToken t = currentToken();
+    if ((t == JsonToken.START_OBJECT) || (t == JsonToken.START_ARRAY)) {
+      int open = 1;
+      while (open > 0) {
+        t = nextToken();
+        if (t == null) {
+          break;
+        }
+        if (t.isStructStart()) {
+          open++;
+        }
+        else if (t.isStructEnd()) {
+          open--;
+        }
+      }
+    }
+    return this;
+  }
+
+  private void process(JsonToken t) throws IOException {
+    if (skipDepth > 0) {
+      if (t.isStructStart()) {
+        skipDepth++;
+      }
+      else if (t.isStructEnd()) {
+        skipDepth--;
+      }
+      return;
+    }
+
+    if (t == JsonToken.FIELD_NAME) {
+      Frame frame = frames.peek();
+      frame.field = delegate.currentName();
+      path.setSize(frame.pathSize);
+      path.pushField(frame.field);
+      return;
+    }
+
+    if (t.isStructEnd()) {
+      path.setSize(frames.pop().pathSize);
+      return;
+    }
+
+    Frame frame = frames.peek();
+    if (frame == null) {
+      // special handling in case the document starts with an array
+      ModelNode model = root.isArray() ? root.getElement() : root;
+      if (t.isStructStart()) {
+        push(model, t);
+      }
+      return;
+    }
+
+    if (frame.isArray) {
+      // elements of an array are validated against the same model node. Only containers have fields to validate
+      path.setIndex(frame.index);
+      frame.index++;
+      if (t.isStructStart()) {
+        push(frame.model, t);
+      }
+      return;
+    }
+
+    processField(frame, t);
+  }
+
+  private void push(ModelNode model, JsonToken t) {
+    boolean isArray = (t == JsonToken.START_ARRAY);
+    frames.push(new Frame(model, isArray, path.size()));
+    if (isArray) {
+      path.pushIndex(0);
+    }
+  }
+
+  private void processField(Frame frame, JsonToken t) throws IOException {
+    ModelNode model = (frame.model == null) ? null : frame.model.getChild(frame.field);
+
+    if (model == null) {
+      // means that the field is not found in the data model
+      if (validationType == CONSTS_JDOCS.VALIDATION_TYPE.ALL_DATA_PATHS) {
+        addError(path + " -> path not found in data model -> " + type);
+      }
+      skip(t);
+      return;
+    }
+
+    if ((t == JsonToken.START_ARRAY) && model.isArray()) {
+      push(model.getElement(), t);
+      return;
+    }
+
+    if ((t == JsonToken.START_OBJECT) && model.isObject()) {
+      push(model, t);
+      return;
+    }
+
+    if (t.isScalarValue()) {
+      // we have reached a property object
+      FieldValidator fv = model.getValidator(type, path);
+      int size = errorList.size();
+      switch (t) {
+        case VALUE_TRUE:
+        case VALUE_FALSE:
+          fv.validate(delegate.getBooleanValue(), path, errorList);
+          break;
+
+        case VALUE_NUMBER_INT:
+          switch (delegate.getNumberType()) {
+            case INT:
+              fv.validate(delegate.getIntValue(), path, errorList);
+              break;
+
+            case LONG:
+              fv.validate(delegate.getLongValue(), path, errorList);
+              break;
+
+            default:
+              throw new UnifyException("jdoc_err_44", path.toString(), delegate.getText());
+          }
+          break;
+
+        case VALUE_NUMBER_FLOAT:
+          // the same value as the one held by the node that is built from this token. Only a binary format holds a
+          // big decimal as is, in json it is read as a double
+          if (delegate.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
+            fv.validate(delegate.getDecimalValue(), path, errorList);
+          }
+          else {
+            fv.validate(BigDecimal.valueOf(delegate.getDoubleValue()), path, errorList);
+          }
+          break;
+
+        case VALUE_STRING:
+          fv.validate(delegate.getText(), path, errorList);
+          break;
+
+        case VALUE_NULL:
+          fv.validate(null, path, errorList);
+          break;
+
+        default:
+          throw new UnifyException("jdoc_err_42", type, path.toString());
+      }
+      if (errorList.size() > size) {
+        checkFailFast();
+      }
+      return;
+    }
+
+    addError(path + " -> mismatch in object type between document and data model -> " + type);
+    skip(t);
+  }
+
+  private void skip(JsonToken t) {
+    if (t.isStructStart()) {
+      skipDepth = 1;
+    }
+  }
+
+  private void addError(String error) {
+    errorList.add(error);
+    checkFailFast();
+  }
+
+  private void checkFailFast() {
+    if (failFast == true) {
+      JDocument.processErrors(errorList);
+    }
+  }
+
+}
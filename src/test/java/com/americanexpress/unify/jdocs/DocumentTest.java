@@ -20,11 +20,22 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.americanexpress.unify.jdocs.CONSTS_JDOCS.VALIDATION_TYPE.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -1987,6 +1998,1023 @@ class DocumentTest {
     }
   }
 
+  @Test
+  void testPathCache() {
+    Document d = getTypedDocument("sample_1_model", "/jdocs/sample_1.json");
+    assertEquals("Deepak", d.getString("$.members[0].first_name"));
+    long hits = JDocument.getPathCacheHitCount();
+    assertEquals("Deepak", d.getString("$.members[0].first_name"));
+    assertTrue(JDocument.getPathCacheHitCount() > hits);
+
+    // deleting a path must not disturb the cached token list for the path
+    d.deletePath("$.members[0].phones[0]");
+    d.deletePath("$.members[0].phones[0]");
+    assertEquals(0, d.getArraySize("$.members[0].phones[]"));
+    assertEquals("Deepak", d.getString("$.members[0].first_name"));
+
+    // check that the cache is bounded
+    PathCache pc = new PathCache(2);
+    pc.put("$.a", Parser.getTokens("$.a"));
+    pc.put("$.b", Parser.getTokens("$.b"));
+    pc.get("$.a");
+    pc.put("$.c", Parser.getTokens("$.c"));
+    assertEquals(2, pc.size());
+    assertNotNull(pc.get("$.a"));
+    assertNull(pc.get("$.b"));
+    assertEquals(2, pc.getHitCount());
+    assertEquals(1, pc.getMissCount());
+  }
+
+  @Test
+  void testCompiledPath() {
+    Document d = getTypedDocument("sample_1_model", "/jdocs/sample_1.json");
+    CompiledPath first = JDocument.compile("$.members[%].first_name");
+    CompiledPath number = JDocument.compile("$.members[%].phones[type=%].number");
+    assertEquals(1, first.getPlaceholderCount());
+    assertEquals(2, number.getPlaceholderCount());
+
+    // check reads
+    assertEquals("Deepak", d.getString(first, "0"));
+    assertEquals("Nitika", d.getString(first, "1"));
+    assertEquals("9999999999", d.getString(number, "1", "mobile"));
+    assertEquals(Boolean.valueOf(false), d.getBoolean(JDocument.compile("$.members[1].is_married")));
+    assertEquals(1, d.getArrayIndex(JDocument.compile("$.members[first_name=%]"), "Nitika"));
+    assertEquals(2, d.getArraySize(JDocument.compile("$.members[%].phones[]"), "0"));
+    assertTrue(d.pathExists(number, "0", "home"));
+    assertFalse(d.pathExists(number, "0", "work"));
+
+    // check writes and deletes
+    d.setString(number, "8888888888", "0", "work");
+    assertEquals("8888888888", d.getString("$.members[0].phones[type=work].number"));
+    d.deletePath(JDocument.compile("$.members[%].phones[type=%]"), "0", "work");
+    assertEquals(2, d.getArraySize("$.members[0].phones[]"));
+
+    // a compiled path works the same on a read only document
+    Document rod = new ReadOnlyDocument(d);
+    assertEquals("Deepak", rod.getString(first, "0"));
+
+    // unhappy path scenarios
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      rod.setString(first, "Deepak", "0");
+    });
+    assertEquals("jdoc_err_19", e.getErrorCode());
+
+    e = assertThrows(UnifyException.class, () -> {
+      d.setInteger(first, 10, "0");
+    });
+    assertEquals("jdoc_err_37", e.getErrorCode());
+
+    e = assertThrows(UnifyException.class, () -> {
+      JDocument.compile("$.members[0].%");
+    });
+    assertEquals("jdoc_err_87", e.getErrorCode());
+
+    e = assertThrows(UnifyException.class, () -> {
+      JDocument.compile("$.members[%=Deepak]");
+    });
+    assertEquals("jdoc_err_87", e.getErrorCode());
+
+    e = assertThrows(UnifyException.class, () -> {
+      d.getString(number, "0");
+    });
+    assertEquals("jdoc_err_88", e.getErrorCode());
+
+    e = assertThrows(UnifyException.class, () -> {
+      d.getString(first, "zero");
+    });
+    assertEquals("jdoc_err_89", e.getErrorCode());
+
+    e = assertThrows(UnifyException.class, () -> {
+      d.getString(JDocument.compile("$.members[%].first_name1"), "0");
+    });
+    assertEquals("jdoc_err_38", e.getErrorCode());
+  }
+
+  @Test
+  void testCompiledPathIndexes() {
+    Document d = getTypedDocument("sample_1_model", "/jdocs/sample_1.json");
+    CompiledPath number = JDocument.compile("$.members[%].phones[%].number");
+    CompiledPath index = JDocument.compile("$.members[index=%].first_name");
+
+    int size = d.getArraySize("$.members[]");
+    for (int i = 0; i < size; i++) {
+      assertEquals("11111111111", d.getString(number, i, 0));
+      assertEquals("9999999999", d.getString(number, i, 1));
+      d.setString(number, "22222222222", i, 0);
+    }
+    assertEquals("22222222222", d.getString("$.members[1].phones[0].number"));
+
+    // an integer bound to a filter value is compared in its string form
+    assertEquals("Nitika", d.getString(index, 1));
+    assertTrue(d.pathExists(JDocument.compile("$.members[%]"), 1));
+    assertFalse(d.pathExists(JDocument.compile("$.members[%]"), 2));
+
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      d.getString(number, 0);
+    });
+    assertEquals("jdoc_err_88", e.getErrorCode());
+  }
+
+  @Test
+  void testModelTree() {
+    Document d = getTypedDocument("sample_1_model", "/jdocs/sample_1.json");
+
+    // the filter field of a new array element is created with the type from the model
+    d.setString("$.members[index=5].first_name", "Anand");
+    assertEquals(5, d.getInteger("$.members[2].index"));
+    assertEquals("Anand", d.getString("$.members[index=5].first_name"));
+    assertEquals(DataType.STRING, d.getLeafNodeDataType("$.members[0].phones[0].number"));
+
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      d.getString("$.members[0].middle_name");
+    });
+    assertEquals("jdoc_err_38", e.getErrorCode());
+
+    e = assertThrows(UnifyException.class, () -> {
+      d.pathExists("$.id[0]");
+    });
+    assertEquals("jdoc_err_7", e.getErrorCode());
+
+    // a model that is replaced is picked up by a path that was resolved against the earlier model
+    JDocument.loadDocumentModel("model_tree_model", "{ \"id\": \"{\\\"type\\\":\\\"string\\\"}\" }");
+    Document d1 = new JDocument("model_tree_model", null);
+    CompiledPath id = JDocument.compile("$.id");
+    CompiledPath name = JDocument.compile("$.name");
+    d1.setString(id, "a1");
+    e = assertThrows(UnifyException.class, () -> {
+      d1.setString(name, "Nitika");
+    });
+    assertEquals("jdoc_err_38", e.getErrorCode());
+
+    JDocument.loadDocumentModel("model_tree_model", "{ \"id\": \"{\\\"type\\\":\\\"integer\\\"}\", \"name\": \"{\\\"type\\\":\\\"string\\\"}\" }");
+    Document d2 = new JDocument("model_tree_model", null);
+    d2.setString(name, "Nitika");
+    assertEquals("Nitika", d2.getString(name));
+    e = assertThrows(UnifyException.class, () -> {
+      d2.setString(id, "a1");
+    });
+    assertEquals("jdoc_err_37", e.getErrorCode());
+  }
+
+  @Test
+  void testFieldValidator() {
+    String model = "{\n" +
+        "  \"code\": \"{\\\"type\\\":\\\"string\\\", \\\"regex\\\":\\\"[A-Z]{3}\\\"}\",\n" +
+        "  \"count\": \"{\\\"type\\\":\\\"integer\\\", \\\"min_value\\\":1, \\\"max_value\\\":10}\",\n" +
+        "  \"date\": \"{\\\"type\\\":\\\"date\\\", \\\"format\\\":\\\"uuuu-MM-dd\\\", \\\"max_date\\\":\\\"2025-12-31\\\"}\",\n" +
+        "  \"no_format\": \"{\\\"type\\\":\\\"date\\\"}\",\n" +
+        "  \"bad_type\": \"{\\\"type\\\":\\\"text\\\"}\"\n" +
+        "}";
+    JDocument.loadDocumentModel("field_validator_model", model);
+    Document d = new JDocument("field_validator_model", null);
+
+    // the same compiled validator is used for every write to the field
+    d.setString("$.code", "ABC");
+    d.setString("$.code", "XYZ");
+    d.setInteger("$.count", 10);
+    d.setString("$.date", "2025-12-31");
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      d.setString("$.code", "abc");
+    });
+    assertEquals("jdoc_err_54", e.getErrorCode());
+    e = assertThrows(UnifyException.class, () -> {
+      d.setInteger("$.count", 11);
+    });
+    assertEquals("jdoc_err_77", e.getErrorCode());
+    e = assertThrows(UnifyException.class, () -> {
+      d.setString("$.date", "2026-01-01");
+    });
+    assertEquals("jdoc_err_79", e.getErrorCode());
+    e = assertThrows(UnifyException.class, () -> {
+      d.setString("$.date", "2025-13-01");
+    });
+    assertEquals("jdoc_err_51", e.getErrorCode());
+    e = assertThrows(UnifyException.class, () -> {
+      d.setString("$.no_format", "2025-01-01");
+    });
+    assertEquals("jdoc_err_71", e.getErrorCode());
+    e = assertThrows(UnifyException.class, () -> {
+      d.setString("$.bad_type", "value");
+    });
+    assertEquals("jdoc_err_63", e.getErrorCode());
+
+    // full document validation collects the errors of all the fields
+    e = assertThrows(UnifyException.class, () -> {
+      new JDocument("field_validator_model", "{ \"code\": \"abc\", \"count\": 0, \"date\": \"2025-02-30\" }");
+    });
+    assertEquals("jdoc_err_28", e.getErrorCode());
+    String s = BaseUtils.removeWhiteSpaces("Regex pattern mismatch in path -> $.code\n" +
+                                               "Min value validation failed for path -> $.count\n" +
+                                               "Invalid date syntax for path -> $.date\n");
+    assertEquals(s, BaseUtils.removeWhiteSpaces(e.getMessage()));
+  }
+
+  @Test
+  void testValidateJson() {
+    setDocModel("sample_1_model");
+    setDocModel("sample_27_model");
+
+    // the document built while validating is the same as the one read without validation
+    String json = BaseUtils.getResourceAsString(DocumentTest.class, "/jdocs/sample_1.json");
+    Document d = new JDocument("sample_1_model", json, ALL_DATA_PATHS);
+    assertEquals(new JDocument(json).getJson(), d.getJson());
+    JDocument.validateJson("sample_1_model", json, ALL_DATA_PATHS, true);
+
+    // all errors are reported
+    String json1 = BaseUtils.getResourceAsString(DocumentTest.class, "/jdocs/sample_27_1.json");
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      JDocument.validateJson("sample_27_model", json1, ALL_DATA_PATHS, false);
+    });
+    assertEquals("jdoc_err_28", e.getErrorCode());
+    String s = BaseUtils.removeWhiteSpaces("Max length validation failed for path -> $.addresses[1].line_1\n" +
+                                               "Min length validation failed for path -> $.addresses[2].line_1\n");
+    assertEquals(s, BaseUtils.removeWhiteSpaces(e.getMessage()));
+
+    // only the first error is reported and the rest of the json is not read
+    String json2 = "{ \"id\": \"id1\", \"extra\": 1, \"members\": [ { \"index\": \"1\" } ], this is not json";
+    e = assertThrows(UnifyException.class, () -> {
+      JDocument.validateJson("sample_1_model", json2, ALL_DATA_PATHS, true);
+    });
+    assertEquals("jdoc_err_28", e.getErrorCode());
+    s = BaseUtils.removeWhiteSpaces("$.extra -> path not found in data model -> sample_1_model\n");
+    assertEquals(s, BaseUtils.removeWhiteSpaces(e.getMessage()));
+
+    // fields not in the model are skipped along with their contents
+    String json3 = "{ \"id\": \"id1\", \"extra\": { \"members\": [ 1, 2 ] }, \"members\": [ { \"index\": 1, \"phones\": { \"type\": \"home\" } } ] }";
+    e = assertThrows(UnifyException.class, () -> {
+      new JDocument("sample_1_model", json3, ALL_DATA_PATHS);
+    });
+    s = BaseUtils.removeWhiteSpaces("$.extra -> path not found in data model -> sample_1_model\n" +
+                                        "$.members[0].phones -> mismatch in object type between document and data model -> sample_1_model\n");
+    assertEquals(s, BaseUtils.removeWhiteSpaces(e.getMessage()));
+    String json4 = "{ \"id\": \"id1\", \"extra\": { \"members\": [ 1, 2 ] } }";
+    Document d4 = new JDocument("sample_1_model", json4, ONLY_MODEL_PATHS);
+    assertEquals(new JDocument(json4).getJson(), d4.getJson());
+
+    // a json that is not well-formed is reported as such
+    e = assertThrows(UnifyException.class, () -> {
+      JDocument.validateJson("sample_1_model", "{ \"id\": ", ALL_DATA_PATHS, false);
+    });
+    assertEquals("jdoc_err_1", e.getErrorCode());
+  }
+
+  @Test
+  void testParallelValidation() {
+    setDocModel("sample_1_model");
+
+    // a document with errors spread over a large array and a wide object
+    Document d = new JDocument(BaseUtils.getResourceAsString(DocumentTest.class, "/jdocs/sample_1.json"));
+    Document member = d.getContent("$.members[0]", false, false);
+    for (int i = 0; i < 400; i++) {
+      d.setContent(member, "$", "$.members[" + i + "]");
+      d.setInteger("$.members[" + i + "].index", i);
+      if ((i % 7) == 0) {
+        d.setString("$.members[" + i + "].extra" + i, "value");
+      }
+    }
+    for (int i = 0; i < 10; i++) {
+      d.setString("$.extra" + i, "value");
+    }
+    String json = d.getJson();
+
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      new JDocument("sample_1_model", json, ALL_DATA_PATHS);
+    });
+    String sequential = e.getMessage();
+    assertTrue(sequential.contains("$.members[399].extra399 -> path not found in data model"));
+    assertFalse(JDocument.isParallelValidation(json.length()));
+
+    try {
+      JDocument.configure(new Configurator().parallelValidationThreshold(2));
+
+      // only documents of a known size large enough are validated after they are read
+      assertTrue(JDocument.isParallelValidation(json.length()));
+      assertFalse(JDocument.isParallelValidation(1024));
+      assertFalse(JDocument.isParallelValidation(-1));
+
+      // the errors are reported in the same order as those of a sequential validation
+      e = assertThrows(UnifyException.class, () -> {
+        new JDocument("sample_1_model", json, ALL_DATA_PATHS);
+      });
+      assertEquals(sequential, e.getMessage());
+      e = assertThrows(UnifyException.class, () -> {
+        d.validateAllPaths("sample_1_model");
+      });
+      assertEquals(sequential, e.getMessage());
+
+      // paths not in the model are not reported for this validation type
+      Document d1 = new JDocument("sample_1_model", json, ONLY_MODEL_PATHS);
+      assertEquals(json, d1.getJson());
+    }
+    finally {
+      JDocument.configure(new Configurator().parallelValidationThreshold(0));
+    }
+  }
+
+  @Test
+  void testArrayFilterIndex() {
+    Document d = new JDocument();
+    for (int i = 0; i < 100; i++) {
+      d.setString("$.items[%].id", "id" + i, i + "");
+      d.setInteger("$.items[%].qty", i, i + "");
+    }
+
+    // lookups by key use the index of the array
+    assertEquals(57, d.getInteger("$.items[id=id57].qty"));
+    assertEquals(99, d.getArrayIndex("$.items[id=id99]"));
+    assertEquals(-1, d.getArrayIndex("$.items[id=id100]"));
+    assertNull(d.getInteger("$.items[id=id100].qty"));
+
+    // values that are not the key of an element do not change the index
+    d.setInteger("$.items[id=id57].qty", 570);
+    assertEquals(570, d.getInteger("$.items[id=id57].qty"));
+
+    // a changed key is found at its new value
+    d.setString("$.items[id=id57].id", "id57a");
+    assertNull(d.getInteger("$.items[id=id57].qty"));
+    assertEquals(570, d.getInteger("$.items[id=id57a].qty"));
+
+    // a duplicate key finds the first element with the key
+    d.setString("$.items[10].id", "id20");
+    assertEquals(10, d.getArrayIndex("$.items[id=id20]"));
+
+    // appended elements are found
+    d.setInteger("$.items[id=id100].qty", 100);
+    assertEquals(100, d.getArrayIndex("$.items[id=id100]"));
+    assertEquals(100, d.getInteger("$.items[id=id100].qty"));
+
+    // deleted elements shift the elements after them
+    d.deletePath("$.items[id=id0]");
+    assertEquals(-1, d.getArrayIndex("$.items[id=id0]"));
+    assertEquals(98, d.getArrayIndex("$.items[id=id99]"));
+    assertEquals(99, d.getInteger("$.items[id=id99].qty"));
+
+    // the contents of the array can be replaced
+    Document d1 = new JDocument();
+    for (int i = 0; i < 20; i++) {
+      d1.setString("$.items[%].id", "new" + i, i + "");
+    }
+    d.setContent(d1, "$.items[]", "$.items[]");
+    assertEquals(-1, d.getArrayIndex("$.items[id=id99]"));
+    assertEquals(19, d.getArrayIndex("$.items[id=new19]"));
+  }
+
+  @Test
+  void testMergeLargeArrays() {
+    setDocModel("sample_9_model");
+    Document toDoc = new JDocument("sample_9_model", null);
+    Document fromDoc = new JDocument("sample_9_model", null);
+    for (int i = 0; i < 1000; i++) {
+      toDoc.setInteger("$.docs[%].index", i, i + "");
+      toDoc.setString("$.docs[%].name", "to" + i, i + "");
+      fromDoc.setInteger("$.docs[%].index", i + 500, i + "");
+      fromDoc.setString("$.docs[%].name", "from" + (i + 500), i + "");
+    }
+
+    // a key repeated in the from document is merged into the element appended for its first occurrence
+    fromDoc.setInteger("$.docs[1000].index", 1499);
+    fromDoc.setString("$.docs[1000].name", "last");
+
+    toDoc.merge(fromDoc, null);
+    assertEquals(1500, toDoc.getArraySize("$.docs[]"));
+    assertEquals("to499", toDoc.getString("$.docs[499].name"));
+    assertEquals("from500", toDoc.getString("$.docs[500].name"));
+    assertEquals(1000, toDoc.getInteger("$.docs[1000].index"));
+    assertEquals("last", toDoc.getString("$.docs[1499].name"));
+
+    // an element without a key is reported only if the key being merged is not found before it
+    toDoc = new JDocument("sample_9_model", null);
+    toDoc.setInteger("$.docs[0].index", 0);
+    toDoc.setString("$.docs[1].name", "no key");
+    fromDoc = new JDocument("sample_9_model", null);
+    fromDoc.setInteger("$.docs[0].index", 0);
+    fromDoc.setString("$.docs[0].name", "merged");
+    toDoc.merge(fromDoc, null);
+    assertEquals("merged", toDoc.getString("$.docs[0].name"));
+
+    fromDoc.setInteger("$.docs[0].index", 1);
+    Document toDoc1 = toDoc;
+    Document fromDoc1 = fromDoc;
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      toDoc1.merge(fromDoc1, null);
+    });
+    assertEquals("jdoc_err_34", e.getErrorCode());
+  }
+
+  @Test
+  void testArrayCursor() {
+    Document d = getTypedDocument("sample_1_model", "/jdocs/sample_1.json");
+    ArrayCursor c = d.getArrayCursor("$.members[]");
+    assertEquals(2, c.size());
+    List<String> names = new ArrayList<>();
+    while (c.next()) {
+      names.add(c.getString("first_name") + " " + c.getString("phones[type=mobile].number"));
+      assertEquals(c.getIndex(), c.getInteger("index"));
+      c.setString("phones[%].number", "12345" + c.getIndex(), "0");
+    }
+    assertEquals("[Deepak 9999999999, Nitika 9999999999]", names.toString());
+    assertEquals("123451", d.getString("$.members[1].phones[0].number"));
+    assertFalse(c.next());
+
+    c.reset();
+    assertTrue(c.next());
+    assertTrue(c.pathExists("phones[1]"));
+    assertFalse(c.pathExists("phones[2]"));
+
+    // relative paths are checked against the model of the elements
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      c.getString("middle_name");
+    });
+    assertEquals("jdoc_err_38", e.getErrorCode());
+    assertTrue(e.getMessage().contains("$.members[0].middle_name"));
+    e = assertThrows(UnifyException.class, () -> {
+      c.setString("index", "abc");
+    });
+    assertEquals("jdoc_err_37", e.getErrorCode());
+
+    // a cursor over an array that is not present has no elements
+    Document d1 = new JDocument();
+    ArrayCursor c1 = d1.getArrayCursor("$.members[]");
+    assertEquals(0, c1.size());
+    assertFalse(c1.next());
+
+    // a cursor of a read only document cannot write
+    ArrayCursor c2 = new ReadOnlyDocument(d).getArrayCursor("$.members[%].phones[]", "1");
+    assertTrue(c2.next());
+    assertEquals("home", c2.getString("type"));
+    e = assertThrows(UnifyException.class, () -> {
+      c2.setString("type", "work");
+    });
+    assertEquals("jdoc_err_19", e.getErrorCode());
+  }
+
+  @Test
+  void testDocumentView() {
+    Document d = getTypedDocument("sample_1_model", "/jdocs/sample_1.json");
+
+    // writes to a view are made in the document and validated against the part of the model
+    Document view = d.getDocumentView("$.members[%]", false, "0");
+    assertEquals("sample_1_model", view.getType());
+    assertEquals("Deepak", view.getString("$.first_name"));
+    view.setString("$.phones[type=home].number", "2222222222");
+    assertEquals("2222222222", d.getString("$.members[0].phones[0].number"));
+    d.setString("$.members[0].last_name", "A");
+    assertEquals("A", view.getString("$.last_name"));
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      view.setString("$.middle_name", "K");
+    });
+    assertEquals("jdoc_err_38", e.getErrorCode());
+    e = assertThrows(UnifyException.class, () -> {
+      view.setString("$.index", "abc");
+    });
+    assertEquals("jdoc_err_37", e.getErrorCode());
+
+    // a view of an array
+    Document view1 = d.getDocumentView("$.members", true);
+    assertEquals("Nitika", view1.getString("$.[1].first_name"));
+    e = assertThrows(UnifyException.class, () -> {
+      view1.setString("$.[1].first_name", "N");
+    });
+    assertEquals("jdoc_err_19", e.getErrorCode());
+
+    // emptying a view empties the part in the document
+    view.empty();
+    assertEquals(2, d.getArraySize("$.members[]"));
+    assertFalse(d.pathExists("$.members[0].first_name"));
+
+    // a view of a base document and a copy of a view
+    Document d1 = getBaseDocument("/jdocs/sample_1.json");
+    Document view2 = d1.getDocumentView("$.members[1].phones[0]", false);
+    assertFalse(view2.isTyped());
+    Document copy = view2.deepCopy();
+    copy.setString("$.type", "work");
+    view2.setString("$.type", "office");
+    assertEquals("office", d1.getString("$.members[1].phones[0].type"));
+    assertEquals("work", copy.getString("$.type"));
+
+    e = assertThrows(UnifyException.class, () -> {
+      d1.getDocumentView("$.members[0].first_name", false);
+    });
+    assertEquals("jdoc_err_69", e.getErrorCode());
+  }
+
+  @Test
+  void testGetValues() {
+    List<String> paths = Arrays.asList(
+        "$.id",
+        "$.members[0].first_name",
+        "$.members[0].phones[type=mobile].number",
+        "$.members[0].phones[0].type",
+        "$.members[sex=female].index",
+        "$.members[1].is_married",
+        "$.members[0].middle_name",
+        "$.info.iid",
+        "$.members[1].phones[type=work].number");
+
+    // the values are the same as those read one at a time
+    Document d = getBaseDocument("/jdocs/sample_1.json");
+    Map<String, Object> values = d.getValues(paths);
+    assertEquals(paths, new ArrayList<>(values.keySet()));
+    for (String path : paths) {
+      assertEquals(d.getValue(path), values.get(path));
+    }
+    assertEquals("9999999999", values.get("$.members[0].phones[type=mobile].number"));
+    assertEquals(1, values.get("$.members[sex=female].index"));
+    assertNull(values.get("$.members[0].middle_name"));
+
+    // a typed document checks the paths against the model
+    Document d1 = getTypedDocument("sample_1_model", "/jdocs/sample_1.json");
+    values = d1.getValues(paths.subList(0, 6));
+    assertEquals("Deepak", values.get("$.members[0].first_name"));
+    assertEquals(false, values.get("$.members[1].is_married"));
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      d1.getValues(Arrays.asList("$.id", "$.members[0].nick_name"));
+    });
+    assertEquals("jdoc_err_38", e.getErrorCode());
+  }
+
+  @Test
+  void testEdit() {
+    // an edit gives the same document as the writes made one at a time
+    Document d = getTypedDocument("sample_1_model", "/jdocs/sample_1.json");
+    Document d1 = d.deepCopy();
+    d.edit(e -> {
+      e.setString("$.members[0].first_name", "Jon");
+      e.setString("$.members[0].phones[type=work].number", "8888888888");
+      e.setString("$.members[0].phones[type=work].type", "office");
+      e.setInteger("$.members[%].index", 2, "2");
+      e.setString("$.members[2].first_name", "Ram");
+      e.setBoolean("$.members[2].is_married", true);
+      e.setString("$.members[1].phones[0].number", "3333333333");
+      assertEquals(7, e.size());
+    });
+    d1.setString("$.members[0].first_name", "Jon");
+    d1.setString("$.members[0].phones[type=work].number", "8888888888");
+    d1.setString("$.members[0].phones[type=work].type", "office");
+    d1.setInteger("$.members[2].index", 2);
+    d1.setString("$.members[2].first_name", "Ram");
+    d1.setBoolean("$.members[2].is_married", true);
+    d1.setString("$.members[1].phones[0].number", "3333333333");
+    assertEquals(d1.getJson(), d.getJson());
+    assertEquals("office", d.getString("$.members[0].phones[2].type"));
+
+    // a write that replaces an object
+    Document d3 = new JDocument();
+    d3.edit(e1 -> {
+      e1.setString("$.a.b.c", "1");
+      e1.setString("$.a.b", "2");
+      e1.setString("$.a.d", "3");
+      e1.setString("$.a.b", "4");
+    });
+    assertEquals("{\"a\":{\"b\":\"4\",\"d\":\"3\"}}", d3.getJson());
+
+    // a write that is not valid fails the edit before the document is changed
+    String json = d.getJson();
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      d.edit(e1 -> {
+        e1.setString("$.members[0].first_name", "Jack");
+        e1.setString("$.members[0].index", "abc");
+      });
+    });
+    assertEquals("jdoc_err_37", e.getErrorCode());
+    assertEquals(json, d.getJson());
+
+    // a write that fails while being applied undoes the writes already applied
+    Document d2 = getBaseDocument("/jdocs/sample_1.json");
+    json = d2.getJson();
+    e = assertThrows(UnifyException.class, () -> {
+      d2.edit(e1 -> {
+        e1.setString("$.members[0].first_name", "Jack");
+        e1.setString("$.info.iid", "1");
+        e1.setString("$.info.details.code", "A");
+        e1.setString("$.members[2].first_name", "Ram");
+        e1.setString("$.members[1].phones[type=work].number", "1");
+        e1.setString("$.members[5].first_name", "Sam");
+      });
+    });
+    assertEquals("jdoc_err_17", e.getErrorCode());
+    assertEquals(json, d2.getJson());
+    assertEquals(2, d2.getArraySize("$.members[]"));
+
+    e = assertThrows(UnifyException.class, () -> {
+      new ReadOnlyDocument(d2).edit(e1 -> e1.setString("$.id", "x"));
+    });
+    assertEquals("jdoc_err_19", e.getErrorCode());
+  }
+
+  @Test
+  void testPrimitiveGetters() {
+    Document d = getTypedDocument("sample_1_model", "/jdocs/sample_1.json");
+    assertEquals(1, d.getInt("$.members[%].index", -1, "1"));
+    assertEquals(1L, d.getLong("$.members[sex=female].index", -1L));
+    assertEquals(1.0, d.getDouble("$.members[1].index", -1.0));
+    assertTrue(d.getBool("$.members[0].is_married", false));
+    assertFalse(d.getBool("$.members[1].is_married", true));
+
+    // the default value is returned for a path that does not exist
+    assertEquals(-1, d.getInt("$.members[sex=x].index", -1));
+    assertTrue(d.getBool("$.members[sex=x].is_married", true));
+
+    Document d1 = getBaseDocument("/jdocs/sample_1.json");
+    d1.setBigDecimal("$.amount", new BigDecimal("12.5"));
+    d1.setLong("$.big", 5000000000L);
+    d1.setString("$.nothing", null);
+    assertEquals(12.5, d1.getDouble("$.amount", 0.0));
+    assertEquals(12, d1.getInt("$.amount", 0));
+    assertEquals(5000000000L, d1.getLong("$.big", 0L));
+    assertEquals(7, d1.getInt("$.nothing", 7));
+
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      d1.getInt("$.id", 0);
+    });
+    assertEquals("jdoc_err_13", e.getErrorCode());
+    e = assertThrows(UnifyException.class, () -> {
+      d1.getBool("$.members[0].index", false);
+    });
+    assertEquals("jdoc_err_13", e.getErrorCode());
+    e = assertThrows(UnifyException.class, () -> {
+      d1.getInt("$.info", 0);
+    });
+    assertEquals("jdoc_err_14", e.getErrorCode());
+    e = assertThrows(UnifyException.class, () -> {
+      d.getInt("$.members[0].age", 0);
+    });
+    assertEquals("jdoc_err_38", e.getErrorCode());
+  }
+
+  @Test
+  void testBulkArrayWrites() {
+    // values arrays
+    Document d = getTypedDocument("native_array1_model", "/jdocs/native_array1.json");
+    int size = d.getArraySize("$.codes[]");
+    d.appendArrayValues("$.codes[]", Arrays.asList("A", "B"));
+    assertEquals(size + 2, d.getArraySize("$.codes[]"));
+    assertEquals("B", d.getArrayValueString("$.codes[%]", (size + 1) + ""));
+    d.setArrayValues("$.codes[]", Arrays.asList("X", "Y", "Z"));
+    assertEquals(3, d.getArraySize("$.codes[]"));
+    assertEquals("Z", d.getArrayValueString("$.codes[2]"));
+    String json = d.getJson();
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      d.appendArrayValues("$.codes[]", Arrays.asList("P", 1));
+    });
+    assertEquals("jdoc_err_37", e.getErrorCode());
+    assertEquals(json, d.getJson());
+    e = assertThrows(UnifyException.class, () -> {
+      d.setArrayValues("$.codes[0]", Arrays.asList("P"));
+    });
+    assertEquals("jdoc_err_47", e.getErrorCode());
+
+    // the array and the path to it are created if they do not exist
+    Document d1 = new JDocument();
+    d1.appendArrayValues("$.a.ids[]", Arrays.asList(1, 2L, new BigDecimal("3.5"), true, null, "s"));
+    assertEquals("{\"a\":{\"ids\":[1,2,3.5,true,null,\"s\"]}}", d1.getJson());
+    d1.setArrayValues("$.a.ids[]", new ArrayList<>());
+    assertEquals(0, d1.getArraySize("$.a.ids[]"));
+    e = assertThrows(UnifyException.class, () -> {
+      d1.appendArrayValues("$.a.ids[]", Arrays.asList(new Object()));
+    });
+    assertEquals("jdoc_err_15", e.getErrorCode());
+
+    // elements
+    Document d2 = getTypedDocument("sample_1_model", "/jdocs/sample_1.json");
+    Document m1 = getBaseDocument("/jdocs/sample_1.json").getContent("$.members[0]", false, false);
+    Document m2 = new JDocument();
+    m2.setString("$.first_name", "Ram");
+    m2.setInteger("$.index", 3);
+    d2.appendElements("$.members[]", Arrays.asList(m1, m2));
+    assertEquals(4, d2.getArraySize("$.members[]"));
+    assertEquals("Deepak", d2.getString("$.members[2].first_name"));
+    assertEquals("Ram", d2.getString("$.members[3].first_name"));
+    m1.setString("$.first_name", "Jack");
+    assertEquals("Deepak", d2.getString("$.members[2].first_name"));
+    assertEquals(3, d2.getArrayIndex("$.members[first_name=Ram]"));
+
+    json = d2.getJson();
+    Document m3 = new JDocument();
+    m3.setString("$.age", "20");
+    e = assertThrows(UnifyException.class, () -> {
+      d2.appendElements("$.members[]", Arrays.asList(m2, m3));
+    });
+    assertEquals("jdoc_err_28", e.getErrorCode());
+    assertTrue(e.getMessage().contains("$.members[5].age"));
+    assertEquals(json, d2.getJson());
+  }
+
+  @Test
+  void testModelFragments() {
+    // fragments are spliced in place of the @here fields including more than one in an object and nested fragments
+    String model = "{\n" +
+        "  \"name\": \"{\\\"type\\\":\\\"string\\\"}\",\n" +
+        "  \"home\": { \"@here\": \"/jdocs/frag_address.json\" },\n" +
+        "  \"offices\": [\n" +
+        "    {\n" +
+        "      \"@here\": \"/jdocs/frag_address.json\",\n" +
+        "      \"@here\": \"/jdocs/frag_geo.json\",\n" +
+        "      \"code\": \"{\\\"type\\\":\\\"string\\\"}\"\n" +
+        "    }\n" +
+        "  ]\n" +
+        "}";
+    JDocument.loadDocumentModel("fragments_model", model);
+    Document m = JDocument.getDocumentModel("fragments_model");
+    assertEquals(Arrays.asList("$.name", "$.home.line_1", "$.home.zip", "$.home.lat", "$.home.lon",
+        "$.offices[0].line_1", "$.offices[0].zip", "$.offices[0].lat", "$.offices[0].lon", "$.offices[0].code"), m.flatten());
+
+    Document d = new JDocument("fragments_model", null);
+    d.setString("$.home.zip", "85054");
+    d.setBigDecimal("$.offices[0].lat", new BigDecimal("33.4"));
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      d.setString("$.home.zip", "ABC");
+    });
+    assertEquals("jdoc_err_54", e.getErrorCode());
+
+    // the same fragment used by another model
+    JDocument.loadDocumentModel("fragments_model_1", "{ \"address\": { \"@here\": \"/jdocs/frag_address.json\" } }");
+    assertEquals(4, JDocument.getDocumentModel("fragments_model_1").flatten().size());
+
+    e = assertThrows(UnifyException.class, () -> {
+      JDocument.loadDocumentModel("fragments_model_2", "{ \"@here\": \"/jdocs/frag_cycle_1.json\" }");
+    });
+    assertEquals("jdoc_err_90", e.getErrorCode());
+    e = assertThrows(UnifyException.class, () -> {
+      JDocument.loadDocumentModel("fragments_model_2", "{ \"@here\": \"/jdocs/frag_none.json\" }");
+    });
+    assertEquals("jdoc_err_91", e.getErrorCode());
+  }
+
+  @Test
+  void testLoadDocumentModels() {
+    Map<String, String> models = new LinkedHashMap<>();
+    for (String type : Arrays.asList("sample_1_model", "native_array1_model", "sample_13_model", "sample_10_model")) {
+      models.put("preload_" + type, BaseUtils.getResourceAsString(DocumentTest.class, "/jdocs/" + type + ".json"));
+    }
+    Map<String, Duration> durations = JDocument.loadDocumentModels(models, true);
+    assertEquals(new ArrayList<>(models.keySet()), new ArrayList<>(durations.keySet()));
+    for (String type : models.keySet()) {
+      assertTrue(JDocument.isDocumentModelLoaded(type));
+      assertNotNull(durations.get(type));
+    }
+    Document d = new JDocument("preload_sample_1_model", BaseUtils.getResourceAsString(DocumentTest.class, "/jdocs/sample_1.json"));
+    assertEquals("Deepak", d.getString("$.members[0].first_name"));
+
+    // an invalid format is reported when the model is loaded
+    models.clear();
+    models.put("preload_invalid", "{ \"id\": \"{\\\"type\\\":\\\"text\\\"}\" }");
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      JDocument.loadDocumentModels(models, false);
+    });
+    assertEquals("jdoc_err_63", e.getErrorCode());
+  }
+
+  @Test
+  void testByteInput() {
+    String json = BaseUtils.getResourceAsString(DocumentTest.class, "/jdocs/sample_1.json");
+    String expected = new JDocument(json).getJson();
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+    // the json may be anywhere in the bytes
+    byte[] bytes1 = new byte[bytes.length + 4];
+    System.arraycopy(bytes, 0, bytes1, 2, bytes.length);
+    assertEquals(expected, JDocument.fromBytes(bytes1, 2, bytes.length).getJson());
+
+    // the stream is closed once read
+    boolean[] closed = { false };
+    InputStream is = new ByteArrayInputStream(bytes) {
+      @Override
+      public void close() throws IOException {
+        closed[0] = true;
+        super.close();
+      }
+    };
+    assertEquals(expected, JDocument.fromStream(is).getJson());
+    assertTrue(closed[0]);
+
+    // the position of the buffer is not changed whether or not it has an array
+    ByteBuffer buffer = ByteBuffer.wrap(bytes1, 2, bytes.length);
+    assertEquals(expected, JDocument.fromByteBuffer(buffer).getJson());
+    assertEquals(2, buffer.position());
+    ByteBuffer buffer1 = ByteBuffer.allocateDirect(bytes.length);
+    buffer1.put(bytes).flip();
+    assertEquals(expected, JDocument.fromByteBuffer(buffer1).getJson());
+    assertEquals(0, buffer1.position());
+
+    assertEquals(expected, JDocument.fromReader(new StringReader(json)).getJson());
+
+    // typed documents are validated in the same way as when constructed from a string
+    setDocModel("sample_1_model");
+    Document d = JDocument.fromBytes("sample_1_model", bytes, 0, bytes.length);
+    assertEquals("Deepak", d.getString("$.members[0].first_name"));
+    assertEquals("sample_1_model", d.getType());
+    d = JDocument.fromByteBuffer("sample_1_model", buffer1, ONLY_AT_READ_WRITE);
+    assertEquals(expected, d.getJson());
+    d = JDocument.fromReader("sample_1_model", new StringReader(json));
+    assertEquals(expected, d.getJson());
+
+    byte[] bytes2 = "{ \"id\": 1 }".getBytes(StandardCharsets.UTF_8);
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      JDocument.fromStream("sample_1_model", new ByteArrayInputStream(bytes2));
+    });
+    assertEquals("jdoc_err_28", e.getErrorCode());
+    e = assertThrows(UnifyException.class, () -> {
+      JDocument.fromBytes("{ \"id\": ".getBytes(StandardCharsets.UTF_8), 0, 8);
+    });
+    assertEquals("jdoc_err_1", e.getErrorCode());
+  }
+
+  @Test
+  void testStreamingOutput() {
+    Document d = getBaseDocument("/jdocs/sample_1.json");
+    byte[] expected = d.getJson().getBytes(StandardCharsets.UTF_8);
+    byte[] expected1 = d.getPrettyPrintJson().getBytes(StandardCharsets.UTF_8);
+    assertArrayEquals(expected, d.toBytes());
+    assertArrayEquals(expected1, d.toBytes(true));
+
+    // the stream is not closed
+    boolean[] closed = { false };
+    ByteArrayOutputStream os = new ByteArrayOutputStream() {
+      @Override
+      public void close() throws IOException {
+        closed[0] = true;
+        super.close();
+      }
+    };
+    d.writeTo(os);
+    assertArrayEquals(expected, os.toByteArray());
+    assertFalse(closed[0]);
+    os.reset();
+    new ReadOnlyDocument(d).writeTo(os, true);
+    assertArrayEquals(expected1, os.toByteArray());
+
+    StringWriter writer = new StringWriter();
+    d.writeTo(writer, true);
+    assertEquals(d.getPrettyPrintJson(), writer.toString());
+
+    // the buffer is written from its position which is moved to the end of the json
+    ByteBuffer buffer = ByteBuffer.allocate(expected.length + 10);
+    buffer.position(4);
+    d.writeTo(buffer);
+    assertEquals(4 + expected.length, buffer.position());
+    assertEquals(d.getJson(), new String(buffer.array(), 4, expected.length, StandardCharsets.UTF_8));
+
+    // the position is not changed if the json does not fit
+    ByteBuffer buffer1 = ByteBuffer.allocateDirect(expected.length - 1);
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      d.writeTo(buffer1);
+    });
+    assertEquals("jdoc_err_93", e.getErrorCode());
+    assertEquals(0, buffer1.position());
+  }
+
+  @Test
+  void testSerializedFormCache() {
+    try {
+      JDocument.configure(new Configurator().cacheSerializedForm(true));
+      Document d = getBaseDocument("/jdocs/sample_1.json");
+
+      // the json is only created again after a write
+      String json = d.getJson();
+      assertSame(json, d.getJson());
+      assertEquals(json, new String(d.toBytes(), StandardCharsets.UTF_8));
+      d.setString("$.id", "id1");
+      String json1 = d.getJson();
+      assertNotSame(json, json1);
+      assertTrue(json1.contains("\"id1\""));
+      d.deletePath("$.info");
+      assertFalse(d.getJson().contains("iid"));
+
+      // a write through a view changes the json of the document and of the view
+      Document v = d.getDocumentView("$.members[0]", false);
+      String vjson = v.getJson();
+      json = d.getJson();
+      v.setString("$.first_name", "Dan");
+      assertNotSame(vjson, v.getJson());
+      assertTrue(d.getJson().contains("\"Dan\""));
+      ArrayCursor c = d.getArrayCursor("$.members[]");
+      c.next();
+      c.setString("last_name", "Brown");
+      assertTrue(v.getJson().contains("\"Brown\""));
+
+      // the bytes returned are a copy
+      byte[] bytes = d.toBytes();
+      bytes[0] = ' ';
+      assertEquals('{', d.toBytes()[0]);
+      ByteArrayOutputStream os = new ByteArrayOutputStream();
+      d.writeTo(os);
+      assertEquals(d.getJson(), new String(os.toByteArray(), StandardCharsets.UTF_8));
+
+      d.edit(edit -> edit.setString("$.id", "id2"));
+      assertTrue(d.getJson().contains("\"id2\""));
+
+      // the json created while an edit is being made is not current once the edit is done
+      Document d1 = new JDocument("{\"a\":\"x\"}");
+      d1.edit(edit -> {
+        edit.setString("$.a", "y");
+        assertEquals("{\"a\":\"x\"}", d1.getJson());
+      });
+      assertEquals("y", d1.getString("$.a"));
+      assertEquals("{\"a\":\"y\"}", d1.getJson());
+      d.appendArrayValues("$.codes[]", Arrays.asList("a", "b"));
+      assertTrue(d.getJson().contains("\"codes\":[\"a\",\"b\"]"));
+      d.empty();
+      assertEquals("{}", d.getJson());
+    }
+    finally {
+      JDocument.configure(new Configurator().cacheSerializedForm(false));
+    }
+  }
+
+  @Test
+  void testBinaryFormat() {
+    Document d = getTypedDocument("sample_1_model", "/jdocs/sample_1.json");
+    byte[] bytes = d.toBinary();
+    assertTrue(bytes.length < d.toBytes().length);
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    d.writeBinaryTo(os);
+    assertArrayEquals(bytes, os.toByteArray());
+
+    // a typed document is validated as it is read
+    Document d1 = JDocument.fromBinary("sample_1_model", bytes, 0, bytes.length);
+    assertEquals(d.getJson(), d1.getJson());
+    assertEquals("Deepak", d1.getString("$.members[0].first_name"));
+    d1 = JDocument.fromBinaryStream("sample_1_model", new ByteArrayInputStream(bytes), ONLY_AT_READ_WRITE);
+    assertEquals(d.getJson(), d1.getJson());
+
+    Document d2 = new JDocument();
+    d2.setString("$.id", "id");
+    d2.setBigDecimal("$.amount", new BigDecimal("10.50"));
+    d2.setArrayValueLong("$.values[0]", Long.MAX_VALUE);
+    byte[] bytes1 = d2.toBinary();
+    Document d3 = JDocument.fromBinary(bytes1, 0, bytes1.length);
+    assertEquals(d2.getJson(), d3.getJson());
+    assertEquals(new BigDecimal("10.50"), d3.getBigDecimal("$.amount"));
+    assertEquals(Long.MAX_VALUE, d3.getArrayValueLong("$.values[0]"));
+
+    d2.setInteger("$.members[0].first_name", 1);
+    byte[] bytes2 = d2.toBinary();
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      JDocument.fromBinaryStream("sample_1_model", new ByteArrayInputStream(bytes2));
+    });
+    assertEquals("jdoc_err_28", e.getErrorCode());
+    assertTrue(e.getMessage().contains("$.members[0].first_name"));
+  }
+
+  @Test
+  void testLazyDocument() {
+    setDocModel("sample_1_model");
+    String json = BaseUtils.getResourceAsString(DocumentTest.class, "/jdocs/sample_1.json");
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+    // the type is known without parsing and the original json is returned till the document is written to
+    LazyDocument d = new LazyDocument("sample_1_model", bytes, ONLY_AT_READ_WRITE);
+    assertEquals("sample_1_model", d.getType());
+    assertTrue(d.isTyped());
+    assertEquals(json, d.getJson());
+    assertArrayEquals(bytes, d.toBytes());
+    assertFalse(d.isParsed());
+
+    assertEquals("Deepak", d.getString("$.members[0].first_name"));
+    assertTrue(d.isParsed());
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    d.writeTo(os);
+    assertArrayEquals(bytes, os.toByteArray());
+    d.setString("$.id", "id1");
+    assertEquals("id1", d.getString("$.id"));
+    assertEquals(new JDocument(json.replace("\"id\": \"id\"", "\"id\": \"id1\"")).getJson(), d.getJson());
+
+    // writes through a view or a cursor are writes to the document
+    LazyDocument d1 = new LazyDocument(bytes);
+    assertFalse(d1.isTyped());
+    d1.getDocumentView("$.members[0]", false).setString("$.first_name", "Dan");
+    assertNotEquals(json, d1.getJson());
+    LazyDocument d2 = new LazyDocument(bytes);
+    ArrayCursor c = d2.getArrayCursor("$.members[]");
+    c.next();
+    c.setString("first_name", "Dan");
+    assertEquals(d1.getJson(), d2.getJson());
+
+    // a copy of a document that has not been parsed is not parsed
+    LazyDocument d3 = (LazyDocument)new LazyDocument("sample_1_model", bytes).deepCopy();
+    assertFalse(d3.isParsed());
+    Document d4 = getTypedDocument("sample_1_model", null);
+    d4.merge(d3, null);
+    assertEquals("Deepak", d4.getString("$.members[0].first_name"));
+
+    // a lazy document can be the source of content copied to a base or a typed document
+    Document d6 = new JDocument();
+    d6.setContent(new LazyDocument(bytes), "$.members[0]", "$.x");
+    assertEquals("Deepak", d6.getString("$.x.first_name"));
+    Document d7 = getTypedDocument("sample_1_model", null);
+    d7.setContent(new LazyDocument("sample_1_model", bytes), "$.members[0]", "$.members[0]");
+    assertEquals("Deepak", d7.getString("$.members[0].first_name"));
+
+    // a document that is not valid fails on first use
+    LazyDocument d5 = new LazyDocument("sample_1_model", "{ \"id\": 1 }".getBytes(StandardCharsets.UTF_8), ALL_DATA_PATHS);
+    assertEquals("{ \"id\": 1 }", d5.getJson());
+    UnifyException e = assertThrows(UnifyException.class, () -> {
+      d5.getValue("$.id");
+    });
+    assertEquals("jdoc_err_28", e.getErrorCode());
+  }
+
   @Test
   void testTemp() {
     // nothing to do as this is just a placeholder
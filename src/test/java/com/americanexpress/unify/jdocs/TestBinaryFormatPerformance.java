@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Compares the size and the encode and decode times of the documents in the test resources in JSON and in the
+ * Smile and CBOR binary formats. Each document is read as a base document and is encoded and decoded a number
+ * of times after a warm up. JSON is encoded using getJson and decoded from the string. As the binary format is
+ * set at the time of initialization, the library is closed and initialized again for each binary format. Run
+ * from the root of the project
+ */
+public class TestBinaryFormatPerformance {
+
+  private static final String RESOURCE_DIR = "src/test/resources/jdocs";
+
+  private static final int WARMUP_ITERATIONS = 2000;
+
+  private static final int ITERATIONS = 10000;
+
+  // a sink for the results so that the work cannot be optimized away
+  private static long sink = 0;
+
+  public static void main(String[] args) throws IOException {
+    List<String> jsons = getJsons(RESOURCE_DIR);
+    System.out.println("Documents -> " + jsons.size());
+    System.out.println(String.format("%-8s %10s %14s %14s", "Format", "Bytes", "Encode ns/doc", "Decode ns/doc"));
+
+    boolean isJsonDone = false;
+    for (CONSTS_JDOCS.BINARY_FORMAT format : CONSTS_JDOCS.BINARY_FORMAT.values()) {
+      JDocument.close();
+      JDocument.init(new Initializer().allowComments(true).binaryFormat(format));
+      List<Document> docs = new ArrayList<>();
+      for (String json : jsons) {
+        docs.add(new JDocument(json));
+      }
+
+      if (isJsonDone == false) {
+        run("JSON", docs, false);
+        isJsonDone = true;
+      }
+      run(format.name(), docs, true);
+    }
+    System.out.println(sink);
+  }
+
+  private static void run(String name, List<Document> docs, boolean isBinary) {
+    List<byte[]> encoded = new ArrayList<>();
+    long size = 0;
+    for (Document d : docs) {
+      byte[] bytes = isBinary ? d.toBinary() : d.getJson().getBytes(StandardCharsets.UTF_8);
+      encoded.add(bytes);
+      size += bytes.length;
+    }
+
+    for (int i = 0; i < 3; i++) {
+      encode(docs, isBinary, WARMUP_ITERATIONS);
+      decode(encoded, isBinary, WARMUP_ITERATIONS);
+    }
+
+    double encodeTime = (double)encode(docs, isBinary, ITERATIONS) / ((long)ITERATIONS * docs.size());
+    double decodeTime = (double)decode(encoded, isBinary, ITERATIONS) / ((long)ITERATIONS * docs.size());
+    System.out.println(String.format("%-8s %10d %14.1f %14.1f", name, size, encodeTime, decodeTime));
+  }
+
+  private static long encode(List<Document> docs, boolean isBinary, int iterations) {
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      for (Document d : docs) {
+        sink += isBinary ? d.toBinary().length : d.getJson().length();
+      }
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static long decode(List<byte[]> encoded, boolean isBinary, int iterations) {
+    // the json is decoded from a string as that is how it is usually held
+    List<String> jsons = new ArrayList<>();
+    if (isBinary == false) {
+      for (byte[] bytes : encoded) {
+        jsons.add(new String(bytes, StandardCharsets.UTF_8));
+      }
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      for (int j = 0; j < encoded.size(); j++) {
+        byte[] bytes = encoded.get(j);
+        Document d = isBinary ? JDocument.fromBinary(bytes, 0, bytes.length) : new JDocument(jsons.get(j));
+        sink += d.hashCode();
+      }
+    }
+    return System.nanoTime() - start;
+  }
+
+  // the json of the files in the directory which are json objects
+  private static List<String> getJsons(String dir) throws IOException {
+    File[] files = new File(dir).listFiles((d, name) -> name.endsWith(".json"));
+    Arrays.sort(files);
+    JDocument.init(new Initializer().allowComments(true));
+    List<String> jsons = new ArrayList<>();
+    for (File file : files) {
+      String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+      try {
+        Document d = new JDocument(json);
+        if (d.getJson().startsWith("{")) {
+          jsons.add(d.getJson());
+        }
+      }
+      catch (RuntimeException e) {
+        // not a json document
+      }
+    }
+    return jsons;
+  }
+
+}
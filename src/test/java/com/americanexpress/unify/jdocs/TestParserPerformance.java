@@ -0,0 +1,309 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package com.americanexpress.unify.jdocs;
+
+import com.americanexpress.unify.base.UnifyException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.americanexpress.unify.base.BaseUtils.removeEscapeCharsAndTrim;
+
+/*
+ * Compares the single pass path parser against the earlier multi pass parser on the paths used in DocumentTest.
+ * The earlier parser is retained here as LegacyParser only for the purpose of this comparison. The paths are
+ * first checked to produce identical tokens with both parsers and then each parser is timed over a number of
+ * iterations after a warm up. Run from the root of the project
+ */
+public class TestParserPerformance {
+
+  private static final String TEST_FILE = "src/test/java/com/americanexpress/unify/jdocs/DocumentTest.java";
+
+  private static final int WARMUP_ITERATIONS = 2000;
+
+  private static final int ITERATIONS = 20000;
+
+  // a sink for the results so that the work cannot be optimized away
+  private static long sink = 0;
+
+  public static void main(String[] args) throws IOException, UnifyException {
+    List<String> allPaths = getPaths(TEST_FILE);
+    checkTokens(allPaths, false);
+    checkTokens(allPaths, true);
+
+    // random paths exercise the combinations of escapes, brackets and spaces not found in the test paths
+    List<String> randomPaths = getRandomPaths(100000);
+    checkTokens(randomPaths, false);
+    checkTokens(randomPaths, true);
+
+    // only the paths that parse without binding values are timed
+    List<String> paths = new ArrayList<>();
+    for (String path : allPaths) {
+      if (getTokens(path, false, true) != null) {
+        paths.add(path);
+      }
+    }
+    System.out.println("Paths -> " + paths.size());
+
+    for (int i = 0; i < 3; i++) {
+      run(paths, "Legacy parser", true, WARMUP_ITERATIONS);
+      run(paths, "Single pass parser", false, WARMUP_ITERATIONS);
+    }
+
+    run(paths, "Legacy parser", true, ITERATIONS);
+    run(paths, "Single pass parser", false, ITERATIONS);
+    System.out.println(sink);
+  }
+
+  private static void run(List<String> paths, String name, boolean isLegacy, int iterations) {
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      for (String path : paths) {
+        List<Token> tokens = isLegacy ? LegacyParser.getTokens(path) : Parser.getTokens(path);
+        sink += tokens.size();
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    long ops = (long)iterations * paths.size();
+    if (iterations == ITERATIONS) {
+      System.out.println(String.format("%-20s %8.1f ns/path", name, (double)elapsed / ops));
+    }
+  }
+
+  private static void checkTokens(List<String> paths, boolean allowSlots) {
+    for (String path : paths) {
+      List<Token> expected = getTokens(path, allowSlots, true);
+      List<Token> actual = getTokens(path, allowSlots, false);
+      if (expected == null) {
+        // the single pass parser may fail with a different exception but needs to fail as well
+        if (actual != null) {
+          throw new RuntimeException("Expected failure for path -> " + path);
+        }
+        continue;
+      }
+      if ((actual == null) || (toString(expected).equals(toString(actual)) == false)) {
+        throw new RuntimeException("Mismatch in tokens for path -> " + path);
+      }
+    }
+  }
+
+  private static List<Token> getTokens(String path, boolean allowSlots, boolean isLegacy) {
+    try {
+      return isLegacy ? LegacyParser.getTokens(path, allowSlots) : Parser.getTokens(path, allowSlots);
+    }
+    catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  private static String toString(List<Token> tokens) {
+    StringBuilder sb = new StringBuilder();
+    for (Token t : tokens) {
+      sb.append('|').append(t.getField()).append(',').append(t.isLeaf());
+      if (t.isArray()) {
+        ArrayToken.Filter filter = ((ArrayToken)t).getFilter();
+        sb.append(',').append(filter.getType()).append(',').append(filter.getIndex());
+        sb.append(',').append(filter.getField()).append(',').append(filter.getValue()).append(',').append(filter.isSlot());
+      }
+    }
+    return sb.toString();
+  }
+
+  private static List<String> getRandomPaths(int count) {
+    String chars = "ab.[]=\\ 1%";
+    Random random = new Random(1);
+    List<String> list = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      StringBuilder sb = new StringBuilder("$.");
+      int size = random.nextInt(12);
+      for (int j = 0; j < size; j++) {
+        sb.append(chars.charAt(random.nextInt(chars.length())));
+      }
+      list.add(sb.toString());
+    }
+    return list;
+  }
+
+  // extracts the paths from the string literals in the file
+  private static List<String> getPaths(String file) throws IOException {
+    String s = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+    Set<String> set = new LinkedHashSet<>();
+    Matcher m = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"").matcher(s);
+    while (m.find()) {
+      String path = m.group(1).replace("\\\"", "\"").replace("\\\\", "\\");
+      int i = path.indexOf("$.");
+      if (i == -1) {
+        continue;
+      }
+      set.add(path.substring(i));
+    }
+    return new ArrayList<>(set);
+  }
+
+  private static class LegacyParser {
+
+    // the placeholder that stands for a value to be supplied at the time of access
+    static final String SLOT = "%";
+
+    public static List<Token> getTokens(String path) {
+      return getTokens(path, false);
+    }
+
+    // if allowSlots is true, a % specified as an array index or as the value of a name value filter is returned
+    // as a slot token which needs to be bound to a value before it can be used
+    static List<Token> getTokens(String path, boolean allowSlots) {
+      List<String> strTokens = getStringTokens(path);
+      List<Token> tokens = getTokens(strTokens, allowSlots);
+      return tokens;
+    }
+
+    private static List<Token> getTokens(List<String> strTokens, boolean allowSlots) {
+      List<Token> tokens = new ArrayList<>();
+      int size = strTokens.size();
+
+      for (int i = 0; i < size; i++) {
+        String strToken = strTokens.get(i);
+        boolean isLeaf = false;
+
+        if (i == (size - 1)) {
+          isLeaf = true;
+        }
+
+        int first = isPresent(strToken, '[');
+        if (first != -1) {
+          tokens.add(getArrayToken(strToken, first, isLeaf, allowSlots));
+        }
+        else {
+          String s = removeEscapeCharsAndTrim(strToken, '\\', '.', '[', ']', '=');
+          tokens.add(new Token(s, isLeaf));
+        }
+      }
+
+      return tokens;
+    }
+
+    private static ArrayToken getArrayToken(String s, int first, boolean isLeaf, boolean allowSlots) {
+      ArrayToken at = null;
+      String name = removeEscapeCharsAndTrim(s.substring(0, first), '\\', '.', '[', ']', '=');
+
+      while (true) {
+        if (s.charAt(first + 1) == ']') {
+          // it is a empty array token
+          at = new ArrayToken(name, isLeaf);
+          break;
+        }
+
+        {
+          int pos = s.lastIndexOf(']');
+          s = s.substring(first + 1, pos);
+          pos = isPresent(s, '=');
+          if (pos != -1) {
+            // it is a key value pair
+            String key = removeEscapeCharsAndTrim(s.substring(0, pos), '\\', '.', '[', ']', '=');
+            String value = removeEscapeCharsAndTrim(s.substring(pos + 1), '\\', '.', '[', ']', '=');
+            at = new ArrayToken(name, key, value, isLeaf, (allowSlots && value.equals(SLOT)));
+          }
+          else {
+            // it is an index
+            s = removeEscapeCharsAndTrim(s, '\\', '.', '[', ']', '=');
+            if (allowSlots && s.equals(SLOT)) {
+              at = new ArrayToken(name, -1, isLeaf, true);
+            }
+            else {
+              at = new ArrayToken(name, Integer.parseInt(s), isLeaf);
+            }
+          }
+          break;
+        }
+      }
+
+      return at;
+    }
+
+    private static int isPresent(String s, char symbol) {
+      // return -1 means not present else present
+      int pos = -1;
+
+      int start = 0;
+      while (true) {
+        if (start >= s.length()) {
+          break;
+        }
+        int i = s.indexOf(symbol, start);
+        if (i != -1) {
+          if (isEscaped(s, i, '\\') == false) {
+            pos = i;
+            break;
+          }
+          else {
+            start = i + 1;
+          }
+        }
+        else {
+          break;
+        }
+      }
+
+      return pos;
+    }
+
+    private static List<String> getStringTokens(String s) {
+      List<String> paths = new ArrayList<>();
+      int from = 2;
+
+      for (int i = 2; i < s.length(); i++) {
+        char c = s.charAt(i);
+        if (c == '.') {
+          if (isEscaped(s, i, '\\') == false) {
+            paths.add(s.substring(from, i));
+            from = i + 1;
+          }
+        }
+      }
+
+      if (from < s.length()) {
+        paths.add(s.substring(from));
+      }
+
+      return paths;
+    }
+
+    private static boolean isEscaped(String s, int pos, char ec) {
+      if (pos == 0) {
+        return false;
+      }
+
+      char c = s.charAt(pos - 1);
+      if (c == ec) {
+        return true;
+      }
+      else {
+        return false;
+      }
+    }
+
+  }
+
+}
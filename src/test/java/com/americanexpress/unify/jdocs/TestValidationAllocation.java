@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.unify.jdocs;
+
+import com.americanexpress.unify.base.BaseUtils;
+
+import java.lang.management.ManagementFactory;
+
+/*
+ * Measures the bytes allocated by the validation of a valid document. The first measurement validates a
+ * document whose tree has already been built and the second compares the reading of a document with and
+ * without validation so that the allocations of building the tree are excluded. The document is built from
+ * sample_1.json by repeating its members. Member indexes are kept small as the boxing of an integer outside
+ * of the Integer cache is an allocation that cannot be avoided. The document is also validated against a copy
+ * of the model without the regex checks as matching a regex allocates a matcher and the string form of a non
+ * string value. Run from the root of the project
+ */
+public class TestValidationAllocation {
+
+  private static final String TYPE = "sample_1_model";
+
+  private static final String TYPE_NO_REGEX = "sample_1_model_no_regex";
+
+  private static final int MEMBERS = 1000;
+
+  private static final int WARMUP_ITERATIONS = 200;
+
+  private static final int ITERATIONS = 1000;
+
+  private static final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+  // a sink for the results so that the work cannot be optimized away
+  private static long sink = 0;
+
+  public static void main(String[] args) {
+    JDocument.init(new Initializer().allowComments(true));
+    String model = BaseUtils.getResourceAsString(TestValidationAllocation.class, "/jdocs/" + TYPE + ".json");
+    JDocument.loadDocumentModel(TYPE, model);
+    JDocument.loadDocumentModel(TYPE_NO_REGEX, model.replace(", \\\"regex\\\":\\\".*\\\"", ""));
+
+    String json = getJson();
+    Document d = new JDocument(TYPE, json, CONSTS_JDOCS.VALIDATION_TYPE.ALL_DATA_PATHS);
+    int leaves = d.flatten().size();
+    System.out.println("Leaf paths in document -> " + leaves);
+
+    for (int i = 0; i < 2; i++) {
+      validate(d, TYPE, WARMUP_ITERATIONS);
+      validate(d, TYPE_NO_REGEX, WARMUP_ITERATIONS);
+      read(json, null, WARMUP_ITERATIONS);
+      read(json, TYPE, WARMUP_ITERATIONS);
+      read(json, TYPE_NO_REGEX, WARMUP_ITERATIONS);
+    }
+
+    long bytes = validate(d, TYPE, ITERATIONS);
+    System.out.println("Validation of document tree -> " + bytes + " bytes per validation, " + (bytes / leaves) + " bytes per leaf");
+    bytes = validate(d, TYPE_NO_REGEX, ITERATIONS);
+    System.out.println("Validation of document tree without regex -> " + bytes + " bytes per validation, " + (bytes / leaves) + " bytes per leaf");
+
+    long readBytes = read(json, null, ITERATIONS);
+    System.out.println("Reading without validation -> " + readBytes + " bytes per document");
+    bytes = read(json, TYPE, ITERATIONS) - readBytes;
+    System.out.println("Validation while reading -> " + bytes + " bytes per document, " + (bytes / leaves) + " bytes per leaf");
+    bytes = read(json, TYPE_NO_REGEX, ITERATIONS) - readBytes;
+    System.out.println("Validation while reading without regex -> " + bytes + " bytes per document, " + (bytes / leaves) + " bytes per leaf");
+    System.out.println(sink);
+  }
+
+  private static long validate(Document d, String type, int iterations) {
+    long start = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    for (int i = 0; i < iterations; i++) {
+      d.validateAllPaths(type);
+    }
+    long end = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    return (end - start) / iterations;
+  }
+
+  // reads the json into a typed document if the type is not null
+  private static long read(String json, String type, int iterations) {
+    long start = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    for (int i = 0; i < iterations; i++) {
+      Document d = (type == null) ? new JDocument(json) : new JDocument(type, json, CONSTS_JDOCS.VALIDATION_TYPE.ALL_DATA_PATHS);
+      sink += d.hashCode();
+    }
+    long end = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    return (end - start) / iterations;
+  }
+
+  private static String getJson() {
+    Document d = new JDocument(BaseUtils.getResourceAsString(TestValidationAllocation.class, "/jdocs/sample_1.json"));
+    Document member = d.getContent("$.members[0]", false, false);
+    for (int i = 0; i < MEMBERS; i++) {
+      d.setContent(member, "$", "$.members[" + i + "]");
+      d.setInteger("$.members[" + i + "].index", i % 100);
+    }
+    return d.getJson();
+  }
+
+}